@@ -0,0 +1,50 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.service.IndiceBuscaProdutos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuscaBenchmark extends CatalogoEstado {
+
+    private static final int LIMITE = 50;
+
+    private IndiceBuscaProdutos indice;
+    private String prefixo;
+    private String termoExato;
+
+    @Override
+    protected void preparar() {
+        indice = bean(IndiceBuscaProdutos.class);
+        indice.construir();
+        String nomeDoMeio = bean(JdbcTemplate.class).queryForObject(
+                "select nome from tb_produto where id = ?", String.class, faixa.produtoDoMeio());
+        prefixo = nomeDoMeio.substring(0, 3);
+        termoExato = nomeDoMeio;
+    }
+
+    @Benchmark
+    public List<Long> buscarPorPrefixo() {
+        return indice.buscar(prefixo, LIMITE);
+    }
+
+    @Benchmark
+    public List<Long> buscarTermoMaisPrefixo() {
+        return indice.buscar(termoExato, LIMITE);
+    }
+
+    @Benchmark
+    public List<Long> buscarSemResultado() {
+        return indice.buscar("inexistente", LIMITE);
+    }
+}
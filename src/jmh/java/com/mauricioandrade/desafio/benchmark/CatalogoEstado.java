@@ -0,0 +1,64 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.DesafioApplication;
+import com.mauricioandrade.desafio.config.GeradorCatalogo;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class CatalogoEstado {
+
+    @Param({"1000", "100000", "1000000"})
+    public int produtos;
+
+    protected ConfigurableApplicationContext contexto;
+    protected CatalogoSintetico.Faixa faixa;
+
+    @Setup(Level.Trial)
+    public void iniciarCatalogo() {
+        List<String> propriedades = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + produtos + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.orm.jdbc.bind=WARN"
+        ));
+        propriedades.addAll(propriedadesAdicionais());
+
+        contexto = new SpringApplicationBuilder(DesafioApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(propriedades.toArray(String[]::new))
+                .run();
+
+        int categorias = Math.max(10, produtos / 1000);
+        faixa = CatalogoSintetico.popular(contexto.getBean(GeradorCatalogo.class), categorias, produtos);
+        preparar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrarCatalogo() {
+        contexto.close();
+    }
+
+    protected void preparar() {
+    }
+
+    protected List<String> propriedadesAdicionais() {
+        return List.of();
+    }
+
+    protected <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
@@ -0,0 +1,44 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.config.DistribuicaoPreco;
+import com.mauricioandrade.desafio.config.GeradorCatalogo;
+import com.mauricioandrade.desafio.config.GeradorCatalogoProperties;
+
+import java.math.BigDecimal;
+
+final class CatalogoSintetico {
+
+    private static final long SEMENTE = 42;
+    private static final int TAMANHO_LOTE = 5000;
+
+    private CatalogoSintetico() {
+    }
+
+    static Faixa popular(GeradorCatalogo gerador, int categorias, int produtos) {
+        GeradorCatalogo.CatalogoGerado catalogo = gerador.gerar(new GeradorCatalogoProperties(
+                categorias,
+                produtos / categorias,
+                DistribuicaoPreco.UNIFORME,
+                new BigDecimal("0.01"),
+                new BigDecimal("1000.00"),
+                1.0,
+                1.0,
+                SEMENTE,
+                TAMANHO_LOTE,
+                false
+        ));
+        return new Faixa(catalogo.primeiraCategoria(), catalogo.categorias(),
+                catalogo.primeiroProduto(), (int) catalogo.produtos());
+    }
+
+    record Faixa(long primeiraCategoria, int categorias, long primeiroProduto, int produtos) {
+
+        long categoriaDoMeio() {
+            return primeiraCategoria + categorias / 2;
+        }
+
+        long produtoDoMeio() {
+            return primeiroProduto + produtos / 2;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.service.CategoriaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CategoriaServiceBenchmark extends CatalogoEstado {
+
+    @Param({"caffeine", "none"})
+    public String cache;
+
+    private CategoriaService categoriaService;
+    private Long categoriaId;
+
+    @Override
+    protected List<String> propriedadesAdicionais() {
+        return List.of("spring.cache.type=" + cache);
+    }
+
+    @Override
+    protected void preparar() {
+        categoriaService = bean(CategoriaService.class);
+        categoriaId = faixa.categoriaDoMeio();
+    }
+
+    @Benchmark
+    public Optional<CategoriaResposta> buscarPorId() {
+        return categoriaService.buscarPorId(categoriaId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.AlteracaoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.service.AlteracaoProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcorrenciaBenchmark extends CatalogoEstado {
+
+    @Param({"16", "1024"})
+    public int produtosDisputados;
+
+    private AlteracaoProdutoService alteracaoService;
+    private long primeiroDisputado;
+    private int disputados;
+
+    @Override
+    protected void preparar() {
+        alteracaoService = bean(AlteracaoProdutoService.class);
+        disputados = Math.min(produtosDisputados, faixa.produtos());
+        long ultimoInicio = faixa.primeiroProduto() + faixa.produtos() - disputados;
+        primeiroDisputado = Math.min(ultimoInicio,
+                Math.max(faixa.primeiroProduto(), faixa.produtoDoMeio() - disputados / 2));
+    }
+
+    @Benchmark
+    public ProdutoResposta alterarPreco() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long id = primeiroDisputado + aleatorio.nextInt(disputados);
+        BigDecimal preco = BigDecimal.valueOf(aleatorio.nextLong(1, 100_000), 2);
+        return alteracaoService.alterar(id, new AlteracaoProduto(null, preco, null), null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.EstatisticasCategoria;
+import com.mauricioandrade.desafio.dto.ResumoCategoria;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.service.EstatisticasCategorias;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EstatisticasBenchmark extends CatalogoEstado {
+
+    private EstatisticasCategorias estatisticas;
+    private CategoriaRepository categoriaRepository;
+
+    @Override
+    protected void preparar() {
+        estatisticas = bean(EstatisticasCategorias.class);
+        categoriaRepository = bean(CategoriaRepository.class);
+        estatisticas.construir();
+    }
+
+    @Benchmark
+    public List<EstatisticasCategoria> resumoIncremental() {
+        return estatisticas.listar();
+    }
+
+    @Benchmark
+    public List<ResumoCategoria> consultaAgrupada() {
+        return categoriaRepository.resumir();
+    }
+}
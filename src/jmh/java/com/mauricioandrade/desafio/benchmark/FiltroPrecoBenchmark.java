@@ -0,0 +1,67 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.service.Paginacao;
+import com.mauricioandrade.desafio.service.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FiltroPrecoBenchmark extends CatalogoEstado {
+
+    private static final int LIMITE = 50;
+    private static final BigDecimal PRECO_MINIMO = new BigDecimal("100.00");
+    private static final BigDecimal PRECO_MAXIMO = new BigDecimal("110.00");
+    private static final BigDecimal PRECO_DO_MEIO = new BigDecimal("500.00");
+
+    private ProdutoService produtoService;
+    private FiltroProdutos faixaPorPreco;
+    private FiltroProdutos faixaPorId;
+    private FiltroProdutos categoriaPorPrecoDesc;
+    private FiltroProdutos todosPorPreco;
+    private String cursorPrecoDoMeio;
+
+    @Override
+    protected void preparar() {
+        produtoService = bean(ProdutoService.class);
+        faixaPorPreco = new FiltroProdutos(null, PRECO_MINIMO, PRECO_MAXIMO, OrdenacaoProduto.PRECO);
+        faixaPorId = new FiltroProdutos(null, PRECO_MINIMO, PRECO_MAXIMO, OrdenacaoProduto.ID);
+        categoriaPorPrecoDesc = new FiltroProdutos(faixa.categoriaDoMeio(), null, null, OrdenacaoProduto.PRECO_DESC);
+        todosPorPreco = new FiltroProdutos(null, null, null, OrdenacaoProduto.PRECO);
+        cursorPrecoDoMeio = bean(Paginacao.class).codificar(
+                new CursorProduto(PRECO_DO_MEIO, faixa.produtoDoMeio()).chave(OrdenacaoProduto.PRECO));
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> faixaOrdenadaPorPreco() {
+        return produtoService.listar(faixaPorPreco, null, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> faixaOrdenadaPorId() {
+        return produtoService.listar(faixaPorId, null, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> categoriaOrdenadaPorPrecoDecrescente() {
+        return produtoService.listar(categoriaPorPrecoDesc, null, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> paginaDoMeioOrdenadaPorPreco() {
+        return produtoService.listar(todosPorPreco, cursorPrecoDoMeio, LIMITE);
+    }
+}
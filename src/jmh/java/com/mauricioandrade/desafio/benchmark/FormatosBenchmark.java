@@ -0,0 +1,138 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.config.FormatosConfig;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.PaginaProtobuf;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.protobuf.PaginaProdutosProto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatosBenchmark {
+
+    private static final TypeReference<Pagina<ProdutoResposta>> PAGINA = new TypeReference<>() {
+    };
+
+    @Param({"50", "1000", "10000"})
+    public int tamanho;
+
+    private final ObjectMapper json = JsonMapper.builder().build();
+    private final ObjectMapper cbor = FormatosConfig.cborMapper();
+    private final ObjectMapper smile = FormatosConfig.smileMapper();
+
+    private Pagina<ProdutoResposta> pagina;
+    private byte[] emJson;
+    private byte[] emJsonGzip;
+    private byte[] emCbor;
+    private byte[] emSmile;
+    private byte[] emProtobuf;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        List<CategoriaResposta> categorias = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            categorias.add(new CategoriaResposta((long) i, "Categoria " + i));
+        }
+        List<ProdutoResposta> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            itens.add(new ProdutoResposta((long) i + 1, "SKU-" + (100_000 + i), "Produto " + i,
+                    BigDecimal.valueOf(1_000 + i * 7L, 2), 0L, categorias.get(i % categorias.size())));
+        }
+        pagina = new Pagina<>(itens, "aWQ6" + tamanho);
+
+        emJson = json.writeValueAsBytes(pagina);
+        emJsonGzip = gzip(emJson);
+        emCbor = cbor.writeValueAsBytes(pagina);
+        emSmile = smile.writeValueAsBytes(pagina);
+        emProtobuf = PaginaProtobuf.codificar(pagina).toByteArray();
+
+        System.out.printf("%nPayload de %d produtos: JSON %d B | JSON+gzip %d B | CBOR %d B | Smile %d B | "
+                        + "Protobuf %d B%n",
+                tamanho, emJson.length, emJsonGzip.length, emCbor.length, emSmile.length, emProtobuf.length);
+    }
+
+    @Benchmark
+    public byte[] codificarJson() {
+        return json.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] codificarJsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(pagina));
+    }
+
+    @Benchmark
+    public byte[] codificarCbor() {
+        return cbor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] codificarSmile() {
+        return smile.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] codificarProtobuf() {
+        return PaginaProtobuf.codificar(pagina).toByteArray();
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> decodificarJson() {
+        return json.readValue(emJson, PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> decodificarJsonGzip() throws IOException {
+        try (InputStream entrada = new GZIPInputStream(new ByteArrayInputStream(emJsonGzip))) {
+            return json.readValue(entrada, PAGINA);
+        }
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> decodificarCbor() {
+        return cbor.readValue(emCbor, PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> decodificarSmile() {
+        return smile.readValue(emSmile, PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> decodificarProtobuf() throws IOException {
+        return PaginaProtobuf.decodificar(PaginaProdutosProto.parseFrom(emProtobuf));
+    }
+
+    private static byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4);
+        try (GZIPOutputStream compressor = new GZIPOutputStream(saida)) {
+            compressor.write(dados);
+        }
+        return saida.toByteArray();
+    }
+}
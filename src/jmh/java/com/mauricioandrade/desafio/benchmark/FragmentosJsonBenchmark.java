@@ -0,0 +1,60 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.service.FragmentosJson;
+import com.mauricioandrade.desafio.service.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FragmentosJsonBenchmark extends CatalogoEstado {
+
+    private static final int LIMITE = 50;
+
+    private ProdutoService produtoService;
+    private FragmentosJson fragmentosJson;
+    private ObjectMapper objectMapper;
+    private FiltroProdutos daCategoria;
+
+    @Override
+    protected List<String> propriedadesAdicionais() {
+        return List.of("catalogo.fragmentos-json.habilitado=true");
+    }
+
+    @Override
+    protected void preparar() {
+        produtoService = bean(ProdutoService.class);
+        fragmentosJson = bean(FragmentosJson.class);
+        objectMapper = bean(ObjectMapper.class);
+        daCategoria = FiltroProdutos.daCategoria(faixa.categoriaDoMeio());
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() {
+        Pagina<ProdutoResposta> pagina = produtoService.listar(daCategoria, null, LIMITE);
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] montarComFragmentos() {
+        Pagina<ProdutoResposta> pagina = produtoService.listar(daCategoria, null, LIMITE);
+        return fragmentosJson.serializar(pagina);
+    }
+
+    @Benchmark
+    public byte[] paginaEmCache() {
+        return fragmentosJson.listar(daCategoria, null, LIMITE);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.service.SnapshotCatalogo;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public final class PegadaMemoria {
+
+    private static final long SEMENTE = 42;
+
+    private static Object retido;
+
+    private PegadaMemoria() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separador = arg.indexOf('=');
+                opcoes.put(arg.substring(2, separador), arg.substring(separador + 1));
+            }
+        }
+        int produtos = Integer.parseInt(opcoes.getOrDefault("produtos", "1000000"));
+        int categorias = Integer.parseInt(opcoes.getOrDefault("categorias", "1000"));
+        int nomesDistintos = Integer.parseInt(opcoes.getOrDefault("nomes-distintos", "50000"));
+
+        System.out.printf("Pegada de %d produtos em %d categorias (%d nomes distintos)%n",
+                produtos, categorias, nomesDistintos);
+        medir("Entidades JPA (Produto + Categoria)", produtos, () -> entidades(produtos, categorias, nomesDistintos));
+        medir("DTOs (ProdutoResposta)", produtos, () -> respostas(produtos, categorias, nomesDistintos));
+        medir("SnapshotCatalogo (colunar)", produtos, () -> snapshot(produtos, categorias, nomesDistintos));
+    }
+
+    private static void medir(String descricao, int produtos, Construcao construcao) throws Exception {
+        long antes = heapUsado();
+        retido = construcao.construir();
+        long depois = heapUsado();
+        retido = null;
+        double porMilhao = (depois - antes) * 1_000_000.0 / produtos / 1_048_576.0;
+        System.out.printf("%-40s %8.1f MiB por milhão de produtos (%.1f bytes/produto)%n",
+                descricao, porMilhao, (depois - antes) / (double) produtos);
+    }
+
+    private static long heapUsado() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<Produto> entidades(int produtos, int categorias, int nomesDistintos) {
+        Categoria[] pais = new Categoria[categorias];
+        for (int i = 0; i < categorias; i++) {
+            pais[i] = new Categoria((long) i + 1, "Categoria " + (i + 1));
+        }
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        List<Produto> lista = new ArrayList<>(produtos);
+        for (int i = 0; i < produtos; i++) {
+            Produto produto = new Produto((long) i + 1, nome(i, nomesDistintos), preco(aleatorio),
+                    pais[i % categorias]);
+            produto.setSku("SKU-" + (i + 1));
+            lista.add(produto);
+        }
+        return lista;
+    }
+
+    private static List<ProdutoResposta> respostas(int produtos, int categorias, int nomesDistintos) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        List<ProdutoResposta> lista = new ArrayList<>(produtos);
+        for (int i = 0; i < produtos; i++) {
+            long categoriaId = i % categorias + 1;
+            lista.add(new ProdutoResposta((long) i + 1, "SKU-" + (i + 1), nome(i, nomesDistintos),
+                    preco(aleatorio), 0L, categoriaId, "Categoria " + categoriaId));
+        }
+        return lista;
+    }
+
+    private static SnapshotCatalogo snapshot(int produtos, int categorias, int nomesDistintos) {
+        SnapshotCatalogo.Construtor construtor = SnapshotCatalogo.construtor();
+        for (int i = 0; i < categorias; i++) {
+            construtor.categoria(i + 1, "Categoria " + (i + 1));
+        }
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        for (int i = 0; i < produtos; i++) {
+            construtor.produto(i + 1, "SKU-" + (i + 1), nome(i, nomesDistintos), preco(aleatorio), 0,
+                    i % categorias + 1);
+        }
+        return construtor.construir();
+    }
+
+    private static String nome(int indice, int nomesDistintos) {
+        return "Produto " + (indice % nomesDistintos);
+    }
+
+    private static BigDecimal preco(SplittableRandom aleatorio) {
+        return BigDecimal.valueOf(aleatorio.nextLong(1, 100_000), 2);
+    }
+
+    @FunctionalInterface
+    private interface Construcao {
+        Object construir();
+    }
+}
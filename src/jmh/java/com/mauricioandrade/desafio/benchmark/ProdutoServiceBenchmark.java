@@ -0,0 +1,50 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.service.Paginacao;
+import com.mauricioandrade.desafio.service.ProdutoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoServiceBenchmark extends CatalogoEstado {
+
+    private static final int LIMITE = 50;
+
+    private ProdutoService produtoService;
+    private String cursorDoMeio;
+
+    @Override
+    protected void preparar() {
+        produtoService = bean(ProdutoService.class);
+        cursorDoMeio = bean(Paginacao.class).codificar(
+                new CursorProduto(null, faixa.produtoDoMeio()).chave(OrdenacaoProduto.ID));
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> listarPrimeiraPagina() {
+        return produtoService.listar(FiltroProdutos.todos(), null, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> listarPaginaDoMeio() {
+        return produtoService.listar(FiltroProdutos.todos(), cursorDoMeio, LIMITE);
+    }
+
+    @Benchmark
+    public Pagina<ProdutoResposta> listarPorCategoria() {
+        return produtoService.listarPorCategoria(faixa.categoriaDoMeio(), null, LIMITE);
+    }
+}
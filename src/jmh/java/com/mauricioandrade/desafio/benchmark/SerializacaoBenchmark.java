@@ -0,0 +1,61 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializacaoBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int tamanho;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private List<Produto> entidades;
+    private List<ProdutoResposta> respostas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        entidades = new ArrayList<>(tamanho);
+        respostas = new ArrayList<>(tamanho);
+        List<Categoria> categorias = List.of(
+                new Categoria(1L, "Informática"),
+                new Categoria(2L, "Livros"),
+                new Categoria(3L, "Eletrônicos"));
+        for (int i = 0; i < tamanho; i++) {
+            Categoria categoria = categorias.get(i % categorias.size());
+            Produto produto = new Produto((long) i + 1, "Produto " + i,
+                    BigDecimal.valueOf(1_000 + i * 7L, 2), categoria);
+            entidades.add(produto);
+            respostas.add(ProdutoResposta.de(produto));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarEntidades() {
+        return jsonMapper.writeValueAsBytes(entidades);
+    }
+
+    @Benchmark
+    public byte[] serializarRespostas() {
+        return jsonMapper.writeValueAsBytes(respostas);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mauricioandrade.desafio.benchmark;
+
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import com.mauricioandrade.desafio.service.CatalogoEmMemoria;
+import com.mauricioandrade.desafio.service.SnapshotCatalogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark extends CatalogoEstado {
+
+    private static final int LIMITE = 50;
+    private static final BigDecimal PRECO_DO_MEIO = new BigDecimal("500.00");
+
+    private ProdutoRepository produtoRepository;
+    private SnapshotCatalogo snapshot;
+    private FiltroProdutos daCategoria;
+    private FiltroProdutos todosPorPreco;
+    private CursorProduto aposProdutoDoMeio;
+    private CursorProduto aposPrecoDoMeio;
+
+    @Override
+    protected List<String> propriedadesAdicionais() {
+        return List.of("catalogo.snapshot.habilitado=true");
+    }
+
+    @Override
+    protected void preparar() {
+        produtoRepository = bean(ProdutoRepository.class);
+        CatalogoEmMemoria catalogoEmMemoria = bean(CatalogoEmMemoria.class);
+        catalogoEmMemoria.construir();
+        snapshot = catalogoEmMemoria.snapshot().orElseThrow();
+        daCategoria = FiltroProdutos.daCategoria(faixa.categoriaDoMeio());
+        todosPorPreco = new FiltroProdutos(null, null, null, OrdenacaoProduto.PRECO);
+        aposProdutoDoMeio = new CursorProduto(null, faixa.produtoDoMeio());
+        aposPrecoDoMeio = new CursorProduto(PRECO_DO_MEIO, faixa.produtoDoMeio());
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> paginaDoMeioBanco() {
+        return produtoRepository.listar(FiltroProdutos.todos(), aposProdutoDoMeio, LIMITE + 1);
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> paginaDoMeioSnapshot() {
+        return snapshot.listar(FiltroProdutos.todos(), aposProdutoDoMeio, LIMITE + 1);
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> categoriaBanco() {
+        return produtoRepository.listar(daCategoria, null, LIMITE + 1);
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> categoriaSnapshot() {
+        return snapshot.listar(daCategoria, null, LIMITE + 1);
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> precoDoMeioBanco() {
+        return produtoRepository.listar(todosPorPreco, aposPrecoDoMeio, LIMITE + 1);
+    }
+
+    @Benchmark
+    public List<ProdutoResposta> precoDoMeioSnapshot() {
+        return snapshot.listar(todosPorPreco, aposPrecoDoMeio, LIMITE + 1);
+    }
+}
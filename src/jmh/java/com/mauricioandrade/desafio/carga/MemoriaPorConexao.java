@@ -0,0 +1,115 @@
+package com.mauricioandrade.desafio.carga;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class MemoriaPorConexao {
+
+    private static final Pattern VALOR = Pattern.compile("\"value\"\\s*:\\s*([-0-9.Ee+]+)");
+
+    private MemoriaPorConexao() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        URI url = URI.create(opcoes.getOrDefault("url", "http://localhost:8080/produtos"));
+        URI metricas = URI.create(opcoes.getOrDefault("metricas", "http://localhost:8080/actuator/metrics/"));
+        int conexoes = Integer.parseInt(opcoes.getOrDefault("conexoes", "1000"));
+        Duration espera = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("espera", "10")));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Conexões lentas: %s, %d conexões, estabilização %ds%n",
+                url, conexoes, espera.toSeconds());
+        Amostra antes = Amostra.ler(cliente, metricas);
+
+        List<Socket> abertas = new ArrayList<>(conexoes);
+        try {
+            for (int i = 0; i < conexoes; i++) {
+                abertas.add(abrir(url));
+            }
+            Thread.sleep(espera.toMillis());
+            Amostra depois = Amostra.ler(cliente, metricas);
+
+            System.out.printf("Conexões abertas: %d%n", abertas.size());
+            System.out.printf("Heap: %+.1f MiB (%.1f KiB/conexão)%n",
+                    (depois.heap - antes.heap) / 1_048_576.0,
+                    (depois.heap - antes.heap) / 1024.0 / abertas.size());
+            System.out.printf("Fora do heap: %+.1f MiB (%.1f KiB/conexão)%n",
+                    (depois.foraDoHeap - antes.foraDoHeap) / 1_048_576.0,
+                    (depois.foraDoHeap - antes.foraDoHeap) / 1024.0 / abertas.size());
+            System.out.printf("Threads: %+.0f (%.3f/conexão)%n",
+                    depois.threads - antes.threads,
+                    (depois.threads - antes.threads) / abertas.size());
+        } finally {
+            for (Socket socket : abertas) {
+                socket.close();
+            }
+        }
+    }
+
+    private static Socket abrir(URI url) throws IOException {
+        int porta = url.getPort() == -1 ? 80 : url.getPort();
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress(url.getHost(), porta), 5000);
+        String caminho = url.getRawQuery() == null ? url.getRawPath() : url.getRawPath() + "?" + url.getRawQuery();
+        String requisicao = "GET " + caminho + " HTTP/1.1\r\n"
+                + "Host: " + url.getHost() + ":" + porta + "\r\n"
+                + "Accept: application/x-ndjson\r\n"
+                + "\r\n";
+        OutputStream saida = socket.getOutputStream();
+        saida.write(requisicao.getBytes(StandardCharsets.US_ASCII));
+        saida.flush();
+        return socket;
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separador = arg.indexOf('=');
+                opcoes.put(arg.substring(2, separador), arg.substring(separador + 1));
+            }
+        }
+        return opcoes;
+    }
+
+    private record Amostra(double heap, double foraDoHeap, double threads) {
+
+        static Amostra ler(HttpClient cliente, URI metricas) throws Exception {
+            return new Amostra(
+                    valor(cliente, metricas.resolve("jvm.memory.used?tag=area:heap")),
+                    valor(cliente, metricas.resolve("jvm.memory.used?tag=area:nonheap")),
+                    valor(cliente, metricas.resolve("jvm.threads.live")));
+        }
+
+        private static double valor(HttpClient cliente, URI uri) throws Exception {
+            HttpResponse<String> resposta = cliente.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher valor = VALOR.matcher(resposta.body());
+            if (resposta.statusCode() != 200 || !valor.find()) {
+                throw new IllegalStateException("Métrica indisponível em " + uri + " (status "
+                        + resposta.statusCode() + ")");
+            }
+            return Double.parseDouble(valor.group(1));
+        }
+    }
+}
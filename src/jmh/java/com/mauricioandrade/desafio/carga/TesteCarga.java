@@ -0,0 +1,127 @@
+package com.mauricioandrade.desafio.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        URI url = URI.create(opcoes.getOrDefault("url", "http://localhost:8080/produtos"));
+        int concorrencia = Integer.parseInt(opcoes.getOrDefault("concorrencia", "500"));
+        Duration aquecimento = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("aquecimento", "10")));
+        Duration duracao = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("duracao", "30")));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(url).GET().timeout(Duration.ofSeconds(30)).build();
+
+        System.out.printf("Carga: %s, %d clientes, aquecimento %ds, medição %ds%n",
+                url, concorrencia, aquecimento.toSeconds(), duracao.toSeconds());
+        long inicio = System.nanoTime();
+        HttpResponse<Void> primeira = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+        System.out.printf("Primeira requisição: %.2f ms (status %d)%n",
+                (System.nanoTime() - inicio) / 1_000_000.0, primeira.statusCode());
+        executar(cliente, requisicao, concorrencia, aquecimento);
+        Resultado resultado = executar(cliente, requisicao, concorrencia, duracao);
+        resultado.imprimir(duracao);
+    }
+
+    private static Resultado executar(HttpClient cliente, HttpRequest requisicao,
+                                      int concorrencia, Duration duracao) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        LongAdder erros = new LongAdder();
+        List<Future<long[]>> trabalhadores = new ArrayList<>(concorrencia);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concorrencia; i++) {
+                trabalhadores.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];
+                    int quantidade = 0;
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400) {
+                                erros.increment();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            erros.increment();
+                            continue;
+                        }
+                        if (quantidade == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, quantidade * 2);
+                        }
+                        latencias[quantidade++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(latencias, quantidade);
+                }));
+            }
+        }
+
+        int total = 0;
+        List<long[]> parciais = new ArrayList<>(concorrencia);
+        for (Future<long[]> trabalhador : trabalhadores) {
+            long[] parcial = trabalhador.get();
+            parciais.add(parcial);
+            total += parcial.length;
+        }
+        long[] latencias = new long[total];
+        int posicao = 0;
+        for (long[] parcial : parciais) {
+            System.arraycopy(parcial, 0, latencias, posicao, parcial.length);
+            posicao += parcial.length;
+        }
+        Arrays.sort(latencias);
+        return new Resultado(latencias, erros.sum());
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separador = arg.indexOf('=');
+                opcoes.put(arg.substring(2, separador), arg.substring(separador + 1));
+            }
+        }
+        return opcoes;
+    }
+
+    private record Resultado(long[] latencias, long erros) {
+
+        void imprimir(Duration duracao) {
+            double segundos = duracao.toMillis() / 1000.0;
+            System.out.printf("Requisições: %d (erros: %d)%n", latencias.length, erros);
+            System.out.printf("Vazão: %.1f req/s%n", latencias.length / segundos);
+            System.out.printf("Latência p50: %.2f ms | p99: %.2f ms | p99.9: %.2f ms | máx: %.2f ms%n",
+                    percentil(0.50), percentil(0.99), percentil(0.999),
+                    latencias.length == 0 ? 0.0 : latencias[latencias.length - 1] / 1_000_000.0);
+        }
+
+        private double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0.0;
+            }
+            int indice = (int) Math.ceil(p * latencias.length) - 1;
+            return latencias[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalogo.alteracao")
+public record AlteracaoProperties(
+        @DefaultValue("10") int tentativas,
+        @DefaultValue("1ms") Duration esperaInicial,
+        @DefaultValue("50ms") Duration esperaMaxima
+) {
+}
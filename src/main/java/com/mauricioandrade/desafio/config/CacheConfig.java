@@ -0,0 +1,12 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIAS = "categorias";
+    public static final String CATEGORIAS_LISTA = "categorias-lista";
+}
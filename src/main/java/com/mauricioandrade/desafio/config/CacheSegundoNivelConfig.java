@@ -0,0 +1,58 @@
+package com.mauricioandrade.desafio.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+@Configuration
+@Profile("cache-l2")
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_CATEGORIA = "catalogo.categoria";
+    public static final String REGIAO_PRODUTO = "catalogo.produto";
+    public static final String REGIAO_PRODUTOS_POR_CATEGORIA = "catalogo.produtos-por-categoria";
+
+    private static final String REGIAO_CONSULTAS_PADRAO = "default-query-results-region";
+    private static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    CacheManager cacheManagerSegundoNivel(CacheSegundoNivelProperties properties) {
+        CachingProvider provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager gerenciador = provedor.getCacheManager(provedor.getDefaultURI(), getClass().getClassLoader());
+        criar(gerenciador, REGIAO_CATEGORIA, properties.maximoCategorias(), properties);
+        criar(gerenciador, REGIAO_PRODUTO, properties.maximoProdutos(), properties);
+        criar(gerenciador, REGIAO_PRODUTOS_POR_CATEGORIA, properties.maximoConsultas(), properties);
+        criar(gerenciador, REGIAO_CONSULTAS_PADRAO, properties.maximoConsultas(), properties);
+
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        gerenciador.createCache(REGIAO_TIMESTAMPS, timestamps);
+        return gerenciador;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> {
+            propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+            propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void criar(CacheManager gerenciador, String regiao, long maximo,
+                              CacheSegundoNivelProperties properties) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(maximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(properties.expiracao().toNanos()));
+        configuracao.setStatisticsEnabled(true);
+        gerenciador.createCache(regiao, configuracao);
+    }
+}
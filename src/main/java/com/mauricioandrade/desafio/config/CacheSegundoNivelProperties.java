@@ -0,0 +1,15 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalogo.cache-l2")
+public record CacheSegundoNivelProperties(
+        @DefaultValue("10000") long maximoCategorias,
+        @DefaultValue("100000") long maximoProdutos,
+        @DefaultValue("10000") long maximoConsultas,
+        @DefaultValue("10m") Duration expiracao
+) {
+}
@@ -5,11 +5,13 @@ import com.mauricioandrade.desafio.model.Produto;
 import com.mauricioandrade.desafio.repository.CategoriaRepository;
 import com.mauricioandrade.desafio.repository.ProdutoRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
 @Component
+@Profile("!producao & !gerador")
 public class DataSeeding implements CommandLineRunner {
 
     private final CategoriaRepository categoriaRepository;
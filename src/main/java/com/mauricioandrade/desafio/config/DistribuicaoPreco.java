@@ -0,0 +1,6 @@
+package com.mauricioandrade.desafio.config;
+
+public enum DistribuicaoPreco {
+    UNIFORME,
+    LOG_NORMAL
+}
@@ -0,0 +1,50 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.cbor.CBORWriteFeature;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import java.util.List;
+
+@Configuration
+public class FormatosConfig implements WebMvcConfigurer {
+
+    public static CBORMapper cborMapper() {
+        return CBORMapper.builder()
+                .enable(CBORWriteFeature.STRINGREF)
+                .build();
+    }
+
+    public static SmileMapper smileMapper() {
+        return SmileMapper.builder()
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.strategies(List.of(new JsonPadraoContentNegotiationStrategy()));
+    }
+
+    @Bean
+    JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter(cborMapper());
+    }
+
+    @Bean
+    JacksonSmileHttpMessageConverter smileHttpMessageConverter() {
+        return new JacksonSmileHttpMessageConverter(smileMapper());
+    }
+
+    @Bean
+    PaginaProtobufHttpMessageConverter paginaProtobufHttpMessageConverter() {
+        return new PaginaProtobufHttpMessageConverter();
+    }
+}
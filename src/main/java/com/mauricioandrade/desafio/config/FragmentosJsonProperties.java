@@ -0,0 +1,13 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "catalogo.fragmentos-json")
+public record FragmentosJsonProperties(
+        @DefaultValue("false") boolean habilitado,
+        @DefaultValue("100000") long maximoProdutos,
+        @DefaultValue("64MB") DataSize maximoPaginas
+) {
+}
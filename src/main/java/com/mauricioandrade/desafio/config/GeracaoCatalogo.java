@@ -0,0 +1,32 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("gerador")
+public class GeracaoCatalogo implements CommandLineRunner {
+
+    private final GeradorCatalogo gerador;
+    private final GeradorCatalogoProperties properties;
+    private final ApplicationContext contexto;
+
+    public GeracaoCatalogo(GeradorCatalogo gerador,
+                           GeradorCatalogoProperties properties,
+                           ApplicationContext contexto) {
+        this.gerador = gerador;
+        this.properties = properties;
+        this.contexto = contexto;
+    }
+
+    @Override
+    public void run(String... args) {
+        gerador.gerar(properties);
+        if (properties.encerrarAoConcluir()) {
+            System.exit(SpringApplication.exit(contexto));
+        }
+    }
+}
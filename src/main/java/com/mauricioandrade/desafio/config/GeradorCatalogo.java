@@ -0,0 +1,168 @@
+package com.mauricioandrade.desafio.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+@Component
+public class GeradorCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorCatalogo.class);
+
+    private static final int MARGEM_SEQUENCIA = 100;
+
+    private static final String[] DEPARTAMENTOS = {
+            "Informática", "Livros", "Eletrônicos", "Casa", "Esporte", "Moda", "Brinquedos", "Beleza",
+            "Ferramentas", "Automotivo", "Games", "Papelaria", "Pet Shop", "Jardim", "Música", "Saúde"
+    };
+    private static final String[] SUBSTANTIVOS = {
+            "Mouse", "Teclado", "Monitor", "Cadeira", "Mesa", "Fone", "Caderno", "Caneta", "Mochila", "Tênis",
+            "Camiseta", "Relógio", "Lâmpada", "Luminária", "Ventilador", "Cafeteira", "Liquidificador", "Panela",
+            "Bola", "Bicicleta", "Raquete", "Livro", "Console", "Controle", "Webcam", "Microfone", "Caixa de Som",
+            "Carregador", "Cabo", "Furadeira"
+    };
+    private static final String[] ATRIBUTOS = {
+            "Gamer", "Sem Fio", "Mecânico", "Ergonômico", "Portátil", "Compacto", "Profissional", "Infantil",
+            "Premium", "Básico", "Digital", "Inox", "Bluetooth", "RGB", "Dobrável", "Recarregável", "Slim",
+            "Ultra", "Clássico", "Esportivo"
+    };
+    private static final String[] MARCAS = {
+            "Logitech", "Acme", "Orion", "Vértice", "Polar", "Atlas", "Nimbus", "Zênite", "Aurora", "Titã",
+            "Fênix", "Boreal", "Quasar", "Delta", "Prisma"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public GeradorCatalogo(JdbcTemplate jdbc,
+                           TransactionTemplate transactionTemplate,
+                           EntityManagerFactory entityManagerFactory) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public CatalogoGerado gerar(GeradorCatalogoProperties parametros) {
+        long inicio = System.nanoTime();
+        int categorias = parametros.categorias();
+        long produtos = (long) categorias * parametros.produtosPorCategoria();
+        long primeiraCategoria = reservar("seq_categoria", categorias);
+        long primeiroProduto = reservar("seq_produto", produtos);
+
+        List<Object[]> linhas = new ArrayList<>(Math.min(categorias, parametros.tamanhoLote()));
+        for (int i = 0; i < categorias; i++) {
+            linhas.add(new Object[]{primeiraCategoria + i, nomeCategoria(i)});
+            if (linhas.size() == parametros.tamanhoLote()) {
+                gravar("insert into tb_categoria (id, nome) values (?, ?)", linhas);
+            }
+        }
+        gravar("insert into tb_categoria (id, nome) values (?, ?)", linhas);
+
+        SplittableRandom aleatorio = new SplittableRandom(parametros.semente());
+        Precos precos = new Precos(parametros);
+        double[] pesosSubstantivos = pesosZipf(SUBSTANTIVOS.length, parametros.concentracaoNomes());
+        linhas = new ArrayList<>(parametros.tamanhoLote());
+        for (long i = 0; i < produtos; i++) {
+            String nome = MARCAS[aleatorio.nextInt(MARCAS.length)]
+                    + " " + SUBSTANTIVOS[sortear(pesosSubstantivos, aleatorio)]
+                    + " " + ATRIBUTOS[aleatorio.nextInt(ATRIBUTOS.length)]
+                    + " " + (100 + aleatorio.nextInt(900));
+            linhas.add(new Object[]{primeiroProduto + i, nome, precos.sortear(aleatorio), primeiraCategoria + i % categorias});
+            if (linhas.size() == parametros.tamanhoLote()) {
+                gravar("insert into tb_produto (id, nome, preco, categoria_id) values (?, ?, ?, ?)", linhas);
+            }
+        }
+        gravar("insert into tb_produto (id, nome, preco, categoria_id) values (?, ?, ?, ?)", linhas);
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+
+        long milissegundos = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Catálogo gerado: {} categorias e {} produtos em {} ms ({} produtos/s)",
+                categorias, produtos, milissegundos, milissegundos == 0 ? produtos : produtos * 1000 / milissegundos);
+        return new CatalogoGerado(primeiraCategoria, categorias, primeiroProduto, produtos);
+    }
+
+    private long reservar(String sequencia, long quantidade) {
+        Long atual = jdbc.queryForObject("select next value for " + sequencia, Long.class);
+        long primeiro = atual + MARGEM_SEQUENCIA;
+        jdbc.execute("alter sequence " + sequencia + " restart with " + (primeiro + quantidade + MARGEM_SEQUENCIA));
+        return primeiro;
+    }
+
+    private void gravar(String sql, List<Object[]> linhas) {
+        if (linhas.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbc.batchUpdate(sql, linhas));
+        linhas.clear();
+    }
+
+    private static String nomeCategoria(int indice) {
+        String departamento = DEPARTAMENTOS[indice % DEPARTAMENTOS.length];
+        int rodada = indice / DEPARTAMENTOS.length;
+        return rodada == 0 ? departamento : departamento + " " + (rodada + 1);
+    }
+
+    private static double[] pesosZipf(int quantidade, double expoente) {
+        double[] acumulados = new double[quantidade];
+        double total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            total += 1.0 / Math.pow(i + 1, expoente);
+            acumulados[i] = total;
+        }
+        for (int i = 0; i < quantidade; i++) {
+            acumulados[i] /= total;
+        }
+        return acumulados;
+    }
+
+    private static int sortear(double[] acumulados, SplittableRandom aleatorio) {
+        int posicao = Arrays.binarySearch(acumulados, aleatorio.nextDouble());
+        return Math.min(posicao < 0 ? -posicao - 1 : posicao, acumulados.length - 1);
+    }
+
+    public record CatalogoGerado(long primeiraCategoria, int categorias, long primeiroProduto, long produtos) {
+    }
+
+    private static final class Precos {
+
+        private final DistribuicaoPreco distribuicao;
+        private final long minimo;
+        private final long maximo;
+        private final double mediana;
+        private final double desvio;
+
+        Precos(GeradorCatalogoProperties parametros) {
+            this.distribuicao = parametros.distribuicaoPreco();
+            this.minimo = parametros.precoMinimo().movePointRight(2).longValue();
+            this.maximo = parametros.precoMaximo().movePointRight(2).longValue();
+            this.mediana = Math.log(Math.sqrt((double) Math.max(minimo, 1) * maximo));
+            this.desvio = parametros.desvioPreco();
+        }
+
+        BigDecimal sortear(SplittableRandom aleatorio) {
+            long centavos = switch (distribuicao) {
+                case UNIFORME -> aleatorio.nextLong(minimo, maximo + 1);
+                case LOG_NORMAL -> Math.clamp(Math.round(Math.exp(mediana + desvio * gaussiano(aleatorio))),
+                        minimo, maximo);
+            };
+            return BigDecimal.valueOf(centavos, 2);
+        }
+
+        private static double gaussiano(SplittableRandom aleatorio) {
+            double u = 1.0 - aleatorio.nextDouble();
+            double v = aleatorio.nextDouble();
+            return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+
+@ConfigurationProperties(prefix = "catalogo.gerador")
+public record GeradorCatalogoProperties(
+        @DefaultValue("100") int categorias,
+        @DefaultValue("10000") int produtosPorCategoria,
+        @DefaultValue("UNIFORME") DistribuicaoPreco distribuicaoPreco,
+        @DefaultValue("1.00") BigDecimal precoMinimo,
+        @DefaultValue("1000.00") BigDecimal precoMaximo,
+        @DefaultValue("1.0") double desvioPreco,
+        @DefaultValue("1.0") double concentracaoNomes,
+        @DefaultValue("42") long semente,
+        @DefaultValue("5000") int tamanhoLote,
+        @DefaultValue("false") boolean encerrarAoConcluir
+) {
+}
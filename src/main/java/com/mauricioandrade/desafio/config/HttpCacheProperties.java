@@ -0,0 +1,12 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalogo.http")
+public record HttpCacheProperties(
+        @DefaultValue("0s") Duration maxAge
+) {
+}
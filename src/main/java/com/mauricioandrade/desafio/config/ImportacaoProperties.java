@@ -0,0 +1,11 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "catalogo.importacao")
+public record ImportacaoProperties(
+        @DefaultValue("500") int tamanhoLote,
+        @DefaultValue("1000") int maximoErros
+) {
+}
@@ -0,0 +1,17 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalogo.ingestao")
+public record IngestaoProperties(
+        @DefaultValue("false") boolean assincrona,
+        @DefaultValue("10000") int capacidadeFila,
+        @DefaultValue("500") int tamanhoLote,
+        @DefaultValue("100ms") Duration esperaLote,
+        @DefaultValue("100000") long maximoStatus,
+        @DefaultValue("1h") Duration retencaoStatus
+) {
+}
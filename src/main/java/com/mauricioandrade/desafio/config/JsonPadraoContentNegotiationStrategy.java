@@ -0,0 +1,26 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JsonPadraoContentNegotiationStrategy extends HeaderContentNegotiationStrategy {
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest requisicao) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> aceitos = super.resolveMediaTypes(requisicao);
+        List<MediaType> tipos = new ArrayList<>(aceitos.size() + 1);
+        for (MediaType aceito : aceitos) {
+            double qualidade = aceito.getQualityValue();
+            if (!aceito.isConcrete() && qualidade > 0 && aceito.includes(MediaType.APPLICATION_JSON)) {
+                tipos.add(qualidade < 1 ? new MediaType("application", "json", qualidade) : MediaType.APPLICATION_JSON);
+            }
+            tipos.add(aceito);
+        }
+        return tipos;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mauricioandrade.desafio.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    static BeanPostProcessor metricasRepositorios(ObjectProvider<MeterRegistry> registros) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+                    fabrica.addRepositoryFactoryCustomizer(repositorios ->
+                            repositorios.addRepositoryProxyPostProcessor((proxy, informacao) ->
+                                    proxy.addAdvice(new MetricasRepositorio(
+                                            registros, informacao.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private record MetricasRepositorio(ObjectProvider<MeterRegistry> registros, String repositorio)
+            implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registro = registros.getIfAvailable();
+            if (registro == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample amostra = Timer.start(registro);
+            String excecao = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                excecao = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                amostra.stop(Timer.builder("catalogo.repositorio")
+                        .description("Chamadas aos repositórios Spring Data")
+                        .tag("repositorio", repositorio)
+                        .tag("metodo", invocation.getMethod().getName())
+                        .tag("excecao", excecao)
+                        .register(registro));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mauricioandrade.desafio.config;
+
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.PaginaProtobuf;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.protobuf.PaginaProdutosProto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.IOException;
+
+public class PaginaProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Pagina<ProdutoResposta>> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public PaginaProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Pagina.class == clazz;
+    }
+
+    @Override
+    protected Pagina<ProdutoResposta> readInternal(Class<? extends Pagina<ProdutoResposta>> clazz,
+                                                   HttpInputMessage entrada) throws IOException {
+        return PaginaProtobuf.decodificar(PaginaProdutosProto.parseFrom(entrada.getBody()));
+    }
+
+    @Override
+    protected void writeInternal(Pagina<ProdutoResposta> pagina, HttpOutputMessage saida) throws IOException {
+        PaginaProtobuf.codificar(pagina).writeTo(saida.getBody());
+    }
+}
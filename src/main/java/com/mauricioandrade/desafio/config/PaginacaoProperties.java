@@ -0,0 +1,11 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "catalogo.paginacao")
+public record PaginacaoProperties(
+        @DefaultValue("50") int limitePadrao,
+        @DefaultValue("500") int limiteMaximo
+) {
+}
@@ -0,0 +1,11 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "catalogo.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("false") boolean habilitado,
+        @DefaultValue("1000") int tamanhoRecarga
+) {
+}
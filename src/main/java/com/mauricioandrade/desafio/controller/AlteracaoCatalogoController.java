@@ -0,0 +1,123 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.mauricioandrade.desafio.dto.PaginaAlteracoes;
+import com.mauricioandrade.desafio.service.AlteracoesCatalogo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/catalog")
+@Profile("!reativo")
+@Tag(
+        name = "Alterações do catálogo",
+        description = "Feed incremental de produtos e categorias inseridos ou alterados, para sincronizar caches"
+)
+public class AlteracaoCatalogoController {
+
+    private final AlteracoesCatalogo alteracoesCatalogo;
+
+    public AlteracaoCatalogoController(AlteracoesCatalogo alteracoesCatalogo) {
+        this.alteracoesCatalogo = alteracoesCatalogo;
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Listar alterações do catálogo",
+            description = "Retorna, em ordem de sequência, os produtos e categorias inseridos ou alterados depois de "
+                    + "'since', com o estado atual de cada registro. Comece com since=0 para receber o catálogo "
+                    + "inteiro e depois envie o valor de 'proxima' para receber apenas o que mudou"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alterações posteriores a 'since'",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PaginaAlteracoes.class),
+                            examples = @ExampleObject(
+                                    name = "Preço alterado",
+                                    value = """
+                                            {
+                                                "itens": [
+                                                    {
+                                                        "sequencia": 1042,
+                                                        "tipo": "PRODUTO",
+                                                        "produto": {
+                                                            "id": 1,
+                                                            "sku": null,
+                                                            "nome": "Mouse Logitech",
+                                                            "preco": 99.90,
+                                                            "versao": 4,
+                                                            "categoria": {
+                                                                "id": 1,
+                                                                "nome": "Informática"
+                                                            }
+                                                        },
+                                                        "categoria": null
+                                                    }
+                                                ],
+                                                "proxima": 1042,
+                                                "temMais": false
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "'since' negativo ou limite inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<PaginaAlteracoes> listarAlteracoes(
+            @Parameter(
+                    description = "Sequência da última alteração já recebida (0 para começar do início)",
+                    example = "1041"
+            )
+            @RequestParam(required = false) Long since,
+            @Parameter(
+                    description = "Quantidade máxima de alterações na página",
+                    example = "50"
+            )
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(alteracoesCatalogo.listar(since, limit));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Acompanhar alterações do catálogo (SSE)",
+            description = "Com Accept: text/event-stream, envia as alterações posteriores a 'since' e, em seguida, "
+                    + "cada nova alteração assim que é gravada. Cada evento traz a sequência no campo 'id', então um "
+                    + "EventSource que reconecta retoma do ponto em que parou via Last-Event-ID"
+    )
+    public SseEmitter acompanharAlteracoes(
+            @Parameter(
+                    description = "Sequência da última alteração já recebida (0 para começar do início)",
+                    example = "1041"
+            )
+            @RequestParam(required = false) Long since,
+            @Parameter(
+                    description = "Enviado pelo EventSource ao reconectar; tem precedência sobre 'since'",
+                    example = "1041"
+            )
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEvento) {
+
+        return alteracoesCatalogo.assinar(ultimoEvento != null ? ultimoEvento : since);
+    }
+}
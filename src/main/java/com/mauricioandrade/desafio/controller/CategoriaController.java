@@ -1,9 +1,17 @@
 package com.mauricioandrade.desafio.controller;
 
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.EstatisticasCategoria;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
 import com.mauricioandrade.desafio.model.Categoria;
 import com.mauricioandrade.desafio.model.Produto;
 import com.mauricioandrade.desafio.service.CategoriaService;
+import com.mauricioandrade.desafio.service.EstatisticasCategorias;
+import com.mauricioandrade.desafio.service.FragmentosJson;
 import com.mauricioandrade.desafio.service.ProdutoService;
+import com.mauricioandrade.desafio.service.VersaoCatalogo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,15 +20,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/categorias")
+@Profile("!reativo")
 @Tag(
         name = "Categorias",
         description = "Endpoints para gerenciamento de categorias de produtos"
@@ -29,10 +40,23 @@ public class CategoriaController {
 
     private final CategoriaService categoriaService;
     private final ProdutoService produtoService;
+    private final EstatisticasCategorias estatisticasCategorias;
+    private final FragmentosJson fragmentosJson;
+    private final VersaoCatalogo versaoCatalogo;
+    private final RespostaCondicional respostaCondicional;
 
-    public CategoriaController(CategoriaService categoriaService, ProdutoService produtoService) {
+    public CategoriaController(CategoriaService categoriaService,
+                               ProdutoService produtoService,
+                               EstatisticasCategorias estatisticasCategorias,
+                               FragmentosJson fragmentosJson,
+                               VersaoCatalogo versaoCatalogo,
+                               RespostaCondicional respostaCondicional) {
         this.categoriaService = categoriaService;
         this.produtoService = produtoService;
+        this.estatisticasCategorias = estatisticasCategorias;
+        this.fragmentosJson = fragmentosJson;
+        this.versaoCatalogo = versaoCatalogo;
+        this.respostaCondicional = respostaCondicional;
     }
 
     @PostMapping
@@ -46,7 +70,7 @@ public class CategoriaController {
                     description = "Categoria criada com sucesso",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Categoria.class),
+                            schema = @Schema(implementation = CategoriaResposta.class),
                             examples = @ExampleObject(
                                     name = "Categoria criada",
                                     value = "{\"id\": 1, \"nome\": \"Informática\"}"
@@ -59,7 +83,7 @@ public class CategoriaController {
                     content = @Content
             )
     })
-    public ResponseEntity<Categoria> salvarCategoria(
+    public ResponseEntity<CategoriaResposta> salvarCategoria(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Dados da categoria a ser criada",
                     required = true,
@@ -74,34 +98,41 @@ public class CategoriaController {
             @RequestBody Categoria categoria) {
 
         Categoria categoriaSalva = categoriaService.salvar(categoria);
-        return ResponseEntity.status(HttpStatus.CREATED).body(categoriaSalva);
+        return ResponseEntity.status(HttpStatus.CREATED).body(CategoriaResposta.de(categoriaSalva));
     }
 
     @GetMapping
     @Operation(
             summary = "Listar todas as categorias",
-            description = "Retorna uma lista com todas as categorias cadastradas no sistema"
+            description = "Retorna uma lista com todas as categorias cadastradas no sistema. "
+                    + "Suporta GET condicional via ETag / If-None-Match"
     )
-    @ApiResponse(
-            responseCode = "200",
-            description = "Lista de categorias retornada com sucesso",
-            content = @Content(
-                    mediaType = "application/json",
-                    schema = @Schema(implementation = Categoria.class),
-                    examples = @ExampleObject(
-                            name = "Lista de categorias",
-                            value = """
-                                    [
-                                        {"id": 1, "nome": "Informática"},
-                                        {"id": 2, "nome": "Livros"}
-                                    ]
-                                    """
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lista de categorias retornada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CategoriaResposta.class),
+                            examples = @ExampleObject(
+                                    name = "Lista de categorias",
+                                    value = """
+                                            [
+                                                {"id": 1, "nome": "Informática"},
+                                                {"id": 2, "nome": "Livros"}
+                                            ]
+                                            """
+                            )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Categorias inalteradas desde o ETag informado em If-None-Match",
+                    content = @Content
             )
-    )
-    public ResponseEntity<List<Categoria>> listarCategorias() {
-        List<Categoria> categorias = categoriaService.listar();
-        return ResponseEntity.ok(categorias);
+    })
+    public ResponseEntity<List<CategoriaResposta>> listarCategorias(WebRequest requisicao) {
+        return respostaCondicional.responder(requisicao, versaoCatalogo.etagCategorias(), categoriaService::listar);
     }
 
     @PostMapping("/{id}/produtos")
@@ -115,7 +146,7 @@ public class CategoriaController {
                     description = "Produto criado com sucesso",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Produto.class),
+                            schema = @Schema(implementation = ProdutoResposta.class),
                             examples = @ExampleObject(
                                     name = "Produto criado",
                                     value = """
@@ -150,7 +181,7 @@ public class CategoriaController {
                     )
             )
     })
-    public ResponseEntity<Produto> criarProdutoParaCategoria(
+    public ResponseEntity<ProdutoResposta> criarProdutoParaCategoria(
             @Parameter(
                     description = "ID da categoria onde o produto será criado",
                     required = true,
@@ -175,56 +206,71 @@ public class CategoriaController {
             )
             @RequestBody Produto produto) {
 
-        Categoria categoria = categoriaService.buscarPorId(id)
+        CategoriaResposta categoria = categoriaService.buscarPorId(id)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Categoria não encontrada"));
 
-        produto.setCategoria(categoria);
+        produto.setCategoria(categoriaService.referencia(categoria));
 
         Produto produtoSalvo = produtoService.salvar(produto);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(produtoSalvo);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProdutoResposta.de(produtoSalvo, categoria));
     }
 
     @GetMapping("/{id}/produtos")
     @Operation(
             summary = "Listar produtos de uma categoria",
-            description = "Retorna todos os produtos vinculados a uma categoria específica"
+            description = "Retorna uma página dos produtos vinculados a uma categoria específica, ordenada por ID. "
+                    + "Use o cursor retornado em 'proximo' para buscar a página seguinte. "
+                    + "Suporta GET condicional via ETag / If-None-Match"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Lista de produtos retornada com sucesso",
+                    description = "Página de produtos retornada com sucesso",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Produto.class),
+                            schema = @Schema(implementation = Pagina.class),
                             examples = @ExampleObject(
-                                    name = "Lista de produtos",
+                                    name = "Página de produtos",
                                     value = """
-                                            [
-                                                {
-                                                    "id": 1,
-                                                    "nome": "Mouse Logitech",
-                                                    "preco": 120.0,
-                                                    "categoria": {
-                                                        "id": 1,
-                                                        "nome": "Informática"
-                                                    }
-                                                },
-                                                {
-                                                    "id": 2,
-                                                    "nome": "Teclado Mecânico",
-                                                    "preco": 350.0,
-                                                    "categoria": {
+                                            {
+                                                "itens": [
+                                                    {
                                                         "id": 1,
-                                                        "nome": "Informática"
+                                                        "nome": "Mouse Logitech",
+                                                        "preco": 120.0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
+                                                    },
+                                                    {
+                                                        "id": 2,
+                                                        "nome": "Teclado Mecânico",
+                                                        "preco": 350.0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
                                                     }
-                                                }
-                                            ]
+                                                ],
+                                                "proximo": null
+                                            }
                                             """
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Produtos inalterados desde o ETag informado em If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor ou limite inválido",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Categoria não encontrada",
@@ -243,22 +289,121 @@ public class CategoriaController {
                     )
             )
     })
-    public ResponseEntity<List<Produto>> listarProdutosDaCategoria(
+    public ResponseEntity<?> listarProdutosDaCategoria(
             @Parameter(
                     description = "ID da categoria para listar os produtos",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(
+                    description = "Cursor opaco retornado em 'proximo' pela página anterior",
+                    example = "aWQ6Mg"
+            )
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Quantidade máxima de produtos na página (limitada pela configuração do servidor)",
+                    example = "50"
+            )
+            @RequestParam(required = false) Integer limite,
+            WebRequest requisicao
     ) {
 
+        exigirCategoria(id);
+        if (fragmentosJson.habilitado() && respostaCondicional.aceitaJson(requisicao)) {
+            return respostaCondicional.responderJson(requisicao, versaoCatalogo.etagProdutos(),
+                    () -> fragmentosJson.listar(FiltroProdutos.daCategoria(id), cursor, limite));
+        }
+        return respostaCondicional.responderPagina(requisicao, versaoCatalogo.etagProdutos(),
+                () -> produtoService.listarPorCategoria(id, cursor, limite));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Estatísticas de produtos por categoria",
+            description = "Retorna, para cada categoria, a quantidade de produtos e os preços mínimo, médio e máximo. "
+                    + "Os valores vêm de um resumo mantido incrementalmente a cada gravação de produto, sem varrer o "
+                    + "catálogo. Suporta GET condicional via ETag / If-None-Match"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estatísticas retornadas com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = EstatisticasCategoria.class),
+                            examples = @ExampleObject(
+                                    name = "Estatísticas",
+                                    value = """
+                                            [
+                                                {
+                                                    "categoriaId": 1,
+                                                    "categoriaNome": "Informática",
+                                                    "quantidadeProdutos": 2,
+                                                    "precoMinimo": 120.00,
+                                                    "precoMedio": 235.00,
+                                                    "precoMaximo": 350.00
+                                                }
+                                            ]
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Catálogo inalterado desde o ETag informado em If-None-Match",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<EstatisticasCategoria>> listarEstatisticas(WebRequest requisicao) {
+        return respostaCondicional.responder(requisicao, versaoCatalogo.etagProdutos(), estatisticasCategorias::listar);
+    }
+
+    @GetMapping("/{id}/stats")
+    @Operation(
+            summary = "Estatísticas de produtos de uma categoria",
+            description = "Retorna a quantidade de produtos e os preços mínimo, médio e máximo de uma categoria. "
+                    + "Suporta GET condicional via ETag / If-None-Match"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estatísticas retornadas com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = EstatisticasCategoria.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Catálogo inalterado desde o ETag informado em If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Categoria não encontrada",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<EstatisticasCategoria> buscarEstatisticas(
+            @Parameter(
+                    description = "ID da categoria",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id,
+            WebRequest requisicao) {
+
+        return respostaCondicional.responder(requisicao, versaoCatalogo.etagProdutos(),
+                () -> estatisticasCategorias.buscarPorCategoria(id)
+                        .orElseThrow(() -> new ResponseStatusException(
+                                HttpStatus.NOT_FOUND, "Categoria não encontrada")));
+    }
+
+    private void exigirCategoria(Long id) {
         categoriaService.buscarPorId(id)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Categoria não encontrada"
                 ));
-
-        List<Produto> produtos = produtoService.listarPorCategoria(id);
-
-        return ResponseEntity.ok(produtos);
     }
 }
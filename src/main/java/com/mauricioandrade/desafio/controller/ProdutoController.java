@@ -1,9 +1,27 @@
 package com.mauricioandrade.desafio.controller;
 
-import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.dto.AlteracaoProduto;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoImportacao;
+import com.mauricioandrade.desafio.dto.ProdutoPorSku;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.ProdutosPorIds;
+import com.mauricioandrade.desafio.dto.ResultadoImportacao;
+import com.mauricioandrade.desafio.dto.StatusIngestao;
 import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.service.AlteracaoProdutoService;
 import com.mauricioandrade.desafio.service.CategoriaService;
+import com.mauricioandrade.desafio.service.ConsultaProdutoService;
+import com.mauricioandrade.desafio.service.ExportacaoProdutoService;
+import com.mauricioandrade.desafio.service.FragmentosJson;
+import com.mauricioandrade.desafio.service.ImportacaoProdutoService;
+import com.mauricioandrade.desafio.service.IngestaoProdutoService;
+import com.mauricioandrade.desafio.service.MesclagemProdutoService;
 import com.mauricioandrade.desafio.service.ProdutoService;
+import com.mauricioandrade.desafio.service.VersaoCatalogo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,33 +30,78 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/produtos")
+@Profile("!reativo")
 @Tag(
         name = "Produtos",
         description = "Endpoints para gerenciamento de produtos do catálogo"
 )
 public class ProdutoController {
 
+    private static final int BUFFER_EXPORTACAO = 64 * 1024;
+
     private final ProdutoService produtoService;
     private final CategoriaService categoriaService;
+    private final ImportacaoProdutoService importacaoProdutoService;
+    private final ExportacaoProdutoService exportacaoProdutoService;
+    private final IngestaoProdutoService ingestaoProdutoService;
+    private final MesclagemProdutoService mesclagemProdutoService;
+    private final AlteracaoProdutoService alteracaoProdutoService;
+    private final ConsultaProdutoService consultaProdutoService;
+    private final FragmentosJson fragmentosJson;
+    private final VersaoCatalogo versaoCatalogo;
+    private final RespostaCondicional respostaCondicional;
 
-    public ProdutoController(ProdutoService produtoService, CategoriaService categoriaService) {
+    public ProdutoController(ProdutoService produtoService,
+                             CategoriaService categoriaService,
+                             ImportacaoProdutoService importacaoProdutoService,
+                             ExportacaoProdutoService exportacaoProdutoService,
+                             IngestaoProdutoService ingestaoProdutoService,
+                             MesclagemProdutoService mesclagemProdutoService,
+                             AlteracaoProdutoService alteracaoProdutoService,
+                             ConsultaProdutoService consultaProdutoService,
+                             FragmentosJson fragmentosJson,
+                             VersaoCatalogo versaoCatalogo,
+                             RespostaCondicional respostaCondicional) {
         this.produtoService = produtoService;
         this.categoriaService = categoriaService;
+        this.importacaoProdutoService = importacaoProdutoService;
+        this.exportacaoProdutoService = exportacaoProdutoService;
+        this.ingestaoProdutoService = ingestaoProdutoService;
+        this.mesclagemProdutoService = mesclagemProdutoService;
+        this.alteracaoProdutoService = alteracaoProdutoService;
+        this.consultaProdutoService = consultaProdutoService;
+        this.fragmentosJson = fragmentosJson;
+        this.versaoCatalogo = versaoCatalogo;
+        this.respostaCondicional = respostaCondicional;
     }
 
     @PostMapping
     @Operation(
             summary = "Criar produto vinculado a categoria",
-            description = "Cria um novo produto e o vincula a uma categoria existente via query parameter categoriaId"
+            description = "Cria um novo produto e o vincula a uma categoria existente via query parameter categoriaId. "
+                    + "Com catalogo.ingestao.assincrona habilitado, o produto é validado, enfileirado e gravado em lote "
+                    + "em segundo plano, e a resposta é 202 com o ID de acompanhamento"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -46,7 +109,7 @@ public class ProdutoController {
                     description = "Produto criado com sucesso",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = Produto.class),
+                            schema = @Schema(implementation = ProdutoResposta.class),
                             examples = @ExampleObject(
                                     name = "Produto criado",
                                     value = """
@@ -63,6 +126,30 @@ public class ProdutoController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Produto aceito na fila de ingestão assíncrona",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatusIngestao.class),
+                            examples = @ExampleObject(
+                                    name = "Produto enfileirado",
+                                    value = """
+                                            {
+                                                "id": "3f2b8c1e-5d4a-4b7e-9c61-2a8f0e7d9b15",
+                                                "situacao": "PENDENTE",
+                                                "produtoId": null,
+                                                "mensagem": null
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados do produto inválidos (modo assíncrono)",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Categoria não encontrada",
@@ -79,9 +166,14 @@ public class ProdutoController {
                                             """
                             )
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Fila de ingestão cheia; tente novamente mais tarde",
+                    content = @Content
             )
     })
-    public ResponseEntity<Produto> criarProduto(
+    public ResponseEntity<?> criarProduto(
             @Parameter(
                     description = "ID da categoria à qual o produto será vinculado",
                     required = true,
@@ -106,65 +198,725 @@ public class ProdutoController {
             )
             @RequestBody Produto produto) {
 
-        Categoria categoria = categoriaService.buscarPorId(categoriaId)
+        CategoriaResposta categoria = categoriaService.buscarPorId(categoriaId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Categoria não encontrada"));
 
-        produto.setCategoria(categoria);
+        if (ingestaoProdutoService.ativa()) {
+            ProdutoImportacao item = new ProdutoImportacao(produto.getNome(), produto.getPreco(), categoria.id());
+            String erro = item.validar();
+            if (erro != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+            }
+            StatusIngestao status = ingestaoProdutoService.enfileirar(item);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/produtos/ingestao/" + status.id()))
+                    .body(status);
+        }
+
+        produto.setCategoria(categoriaService.referencia(categoria));
         Produto produtoSalvo = produtoService.salvar(produto);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(produtoSalvo);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProdutoResposta.de(produtoSalvo, categoria));
     }
 
     @GetMapping
     @Operation(
-            summary = "Listar todos os produtos",
-            description = "Retorna uma lista com todos os produtos cadastrados no sistema, incluindo suas categorias"
+            summary = "Listar produtos paginados",
+            description = "Retorna uma página de produtos, incluindo suas categorias, opcionalmente filtrada por "
+                    + "categoria e faixa de preço e ordenada por ID (padrão) ou preço. "
+                    + "Use o cursor retornado em 'proximo' para buscar a página seguinte com os mesmos filtros. "
+                    + "Suporta GET condicional via ETag / If-None-Match"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de produtos retornada com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Pagina.class),
+                            examples = @ExampleObject(
+                                    name = "Página de produtos",
+                                    value = """
+                                            {
+                                                "itens": [
+                                                    {
+                                                        "id": 1,
+                                                        "nome": "Mouse Logitech",
+                                                        "preco": 120.0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
+                                                    },
+                                                    {
+                                                        "id": 2,
+                                                        "nome": "Teclado Mecânico",
+                                                        "preco": 350.0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
+                                                    }
+                                                ],
+                                                "proximo": "aWQ6Mg"
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Catálogo inalterado desde o ETag informado em If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor, limite, ordenação ou faixa de preço inválidos",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<?> listarProdutos(
+            @Parameter(
+                    description = "Cursor opaco retornado em 'proximo' pela página anterior",
+                    example = "aWQ6Mg"
+            )
+            @RequestParam(required = false) String cursor,
+            @Parameter(
+                    description = "Quantidade máxima de produtos na página (limitada pela configuração do servidor)",
+                    example = "50"
+            )
+            @RequestParam(required = false) Integer limite,
+            @Parameter(
+                    description = "Preço mínimo (inclusivo)",
+                    example = "100.00"
+            )
+            @RequestParam(required = false) BigDecimal minPreco,
+            @Parameter(
+                    description = "Preço máximo (inclusivo)",
+                    example = "500.00"
+            )
+            @RequestParam(required = false) BigDecimal maxPreco,
+            @Parameter(
+                    description = "ID da categoria para filtrar os produtos",
+                    example = "1"
+            )
+            @RequestParam(required = false) Long categoriaId,
+            @Parameter(
+                    description = "Ordenação: 'id' (padrão), 'preco' (crescente) ou '-preco' (decrescente)",
+                    example = "preco"
+            )
+            @RequestParam(required = false) String sort,
+            WebRequest requisicao) {
+
+        FiltroProdutos filtro = new FiltroProdutos(categoriaId, minPreco, maxPreco, ordenacao(sort));
+
+        if (fragmentosJson.habilitado() && respostaCondicional.aceitaJson(requisicao)) {
+            return respostaCondicional.responderJson(requisicao, versaoCatalogo.etagProdutos(),
+                    () -> fragmentosJson.listar(filtro, cursor, limite));
+        }
+        return respostaCondicional.responderPagina(requisicao, versaoCatalogo.etagProdutos(),
+                () -> produtoService.listar(filtro, cursor, limite));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Buscar produto por ID",
+            description = "Retorna um produto pelo ID. O cabeçalho ETag traz a versão do produto, aceita em "
+                    + "If-None-Match e no If-Match do PATCH"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produto encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutoResposta.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Produto inalterado desde a versão informada em If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Produto não encontrado",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProdutoResposta> buscarProduto(
+            @Parameter(
+                    description = "ID do produto",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id,
+            WebRequest requisicao) {
+
+        ProdutoResposta produto = consultaProdutoService.buscarPorId(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado"));
+        return respostaCondicional.responderVersao(requisicao, "\"" + produto.versao() + "\"", () -> produto);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Buscar vários produtos por ID",
+            description = "Resolve uma lista de IDs separados por vírgula em uma única requisição. Os produtos voltam "
+                    + "na ordem solicitada, sem repetições, e os IDs inexistentes são listados em 'naoEncontrados'"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produtos encontrados e IDs inexistentes",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutosPorIds.class),
+                            examples = @ExampleObject(
+                                    name = "IDs 2, 1 e 42",
+                                    value = """
+                                            {
+                                                "itens": [
+                                                    {
+                                                        "id": 2,
+                                                        "sku": null,
+                                                        "nome": "Teclado Mecânico",
+                                                        "preco": 350.00,
+                                                        "versao": 0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
+                                                    },
+                                                    {
+                                                        "id": 1,
+                                                        "sku": null,
+                                                        "nome": "Mouse Logitech",
+                                                        "preco": 120.00,
+                                                        "versao": 0,
+                                                        "categoria": {
+                                                            "id": 1,
+                                                            "nome": "Informática"
+                                                        }
+                                                    }
+                                                ],
+                                                "naoEncontrados": [42]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Nenhum ID informado ou IDs acima de catalogo.consulta.maximo-ids",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProdutosPorIds> buscarProdutosPorIds(
+            @Parameter(
+                    description = "IDs dos produtos, separados por vírgula",
+                    required = true,
+                    example = "2,1,42"
+            )
+            @RequestParam List<Long> ids) {
+
+        return ResponseEntity.ok(consultaProdutoService.buscarPorIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(
+            summary = "Buscar vários produtos por ID (corpo JSON)",
+            description = "Mesmo contrato de GET /produtos?ids=..., com os IDs no corpo da requisição. Útil quando a "
+                    + "lista não cabe na URL"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produtos encontrados e IDs inexistentes",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutosPorIds.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Nenhum ID informado ou IDs acima de catalogo.consulta.maximo-ids",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProdutosPorIds> consultarProdutos(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "IDs dos produtos",
+                    required = true,
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    name = "IDs",
+                                    value = "[2, 1, 42]"
+                            )
+                    )
+            )
+            @RequestBody List<Long> ids) {
+
+        return ResponseEntity.ok(consultaProdutoService.buscarPorIds(ids));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Alterar produto parcialmente",
+            description = "Altera nome, preço e/ou categoria de um produto com controle otimista de concorrência pela "
+                    + "coluna de versão. Com If-Match, a alteração só é aplicada se a versão atual for a informada. "
+                    + "Sem If-Match, conflitos com escritas concorrentes são repetidos automaticamente sobre a versão "
+                    + "mais recente"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produto alterado; o cabeçalho ETag traz a nova versão",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutoResposta.class),
+                            examples = @ExampleObject(
+                                    name = "Produto alterado",
+                                    value = """
+                                            {
+                                                "id": 1,
+                                                "sku": null,
+                                                "nome": "Mouse Logitech",
+                                                "preco": 99.90,
+                                                "versao": 4,
+                                                "categoria": {
+                                                    "id": 1,
+                                                    "nome": "Informática"
+                                                }
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Alteração inválida",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Produto ou categoria não encontrados",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Conflitos concorrentes persistiram após todas as tentativas",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "A versão atual difere da informada em If-Match",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProdutoResposta> alterarProduto(
+            @Parameter(
+                    description = "ID do produto",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id,
+            @Parameter(
+                    description = "Versão esperada do produto (valor do ETag ou do campo 'versao')",
+                    example = "\"3\""
+            )
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Campos a alterar",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = AlteracaoProduto.class),
+                            examples = @ExampleObject(
+                                    name = "Novo preço",
+                                    value = "{\"preco\": 99.90}"
+                            )
+                    )
+            )
+            @RequestBody AlteracaoProduto alteracao,
+            WebRequest requisicao) {
+
+        ProdutoResposta produto = alteracaoProdutoService.alterar(id, alteracao, versaoEsperada(ifMatch));
+        return respostaCondicional.alterado(requisicao, "\"" + produto.versao() + "\"", produto);
+    }
+
+    @PutMapping("/by-sku/{sku}")
+    @Operation(
+            summary = "Criar ou atualizar produto pelo SKU",
+            description = "Grava o produto identificado pelo SKU do fornecedor com um único MERGE: cria o produto se o "
+                    + "SKU não existir ou atualiza nome, preço e categoria se existir. Reenviar o mesmo produto não "
+                    + "gera duplicatas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produto criado ou atualizado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutoResposta.class),
+                            examples = @ExampleObject(
+                                    name = "Produto gravado",
+                                    value = """
+                                            {
+                                                "id": 101,
+                                                "sku": "LOG-M170-PRETO",
+                                                "nome": "Mouse Logitech M170",
+                                                "preco": 89.90,
+                                                "categoria": {
+                                                    "id": 1,
+                                                    "nome": "Informática"
+                                                }
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados do produto inválidos",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Categoria não encontrada",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ProdutoResposta> mesclarPorSku(
+            @Parameter(
+                    description = "Código do produto no fornecedor (SKU)",
+                    required = true,
+                    example = "LOG-M170-PRETO"
+            )
+            @PathVariable String sku,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Dados do produto",
+                    required = true,
+                    content = @Content(
+                            schema = @Schema(implementation = ProdutoImportacao.class),
+                            examples = @ExampleObject(
+                                    name = "Produto",
+                                    value = """
+                                            {
+                                                "nome": "Mouse Logitech M170",
+                                                "preco": 89.90,
+                                                "categoriaId": 1
+                                            }
+                                            """
+                            )
+                    )
+            )
+            @RequestBody ProdutoImportacao produto) {
+
+        ProdutoResposta resposta = mesclagemProdutoService.mesclar(
+                new ProdutoPorSku(sku, produto.nome(), produto.preco(), produto.categoriaId()));
+        return ResponseEntity.ok(resposta);
+    }
+
+    @PutMapping("/by-sku")
+    @Operation(
+            summary = "Aplicar carga de produtos do fornecedor pelo SKU",
+            description = "Aplica uma lista de produtos identificados por SKU com MERGE em lotes JDBC, sem consultas "
+                    + "prévias: SKUs novos são criados e existentes são atualizados. Reaplicar a mesma carga não gera "
+                    + "duplicatas. Itens inválidos são reportados individualmente"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Carga aplicada; verifique 'rejeitados' e 'erros' para os itens não gravados",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoImportacao.class)
+            )
+    )
+    public ResponseEntity<ResultadoImportacao> mesclarCarga(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Array JSON de produtos, cada um com SKU e categoriaId",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Carga do fornecedor",
+                                    value = """
+                                            [
+                                                {"sku": "LOG-M170-PRETO", "nome": "Mouse Logitech M170", "preco": 89.90, "categoriaId": 1},
+                                                {"sku": "LIV-CLEAN-CODE", "nome": "Clean Code", "preco": 99.00, "categoriaId": 2}
+                                            ]
+                                            """
+                            )
+                    )
+            )
+            @RequestBody List<ProdutoPorSku> produtos) {
+
+        ResultadoImportacao resultado = mesclagemProdutoService.mesclarTodos(produtos);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping("/ingestao/{id}")
+    @Operation(
+            summary = "Consultar produto enviado para ingestão assíncrona",
+            description = "Retorna a situação de um produto aceito com 202 pelo POST /produtos: PENDENTE enquanto "
+                    + "aguarda na fila, GRAVADO com o ID do produto ou FALHOU com o motivo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Situação encontrada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatusIngestao.class),
+                            examples = @ExampleObject(
+                                    name = "Produto gravado",
+                                    value = """
+                                            {
+                                                "id": "3f2b8c1e-5d4a-4b7e-9c61-2a8f0e7d9b15",
+                                                "situacao": "GRAVADO",
+                                                "produtoId": 42,
+                                                "mensagem": null
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "ID de acompanhamento desconhecido ou expirado",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<StatusIngestao> consultarIngestao(
+            @Parameter(
+                    description = "ID de acompanhamento retornado pelo POST /produtos",
+                    required = true,
+                    example = "3f2b8c1e-5d4a-4b7e-9c61-2a8f0e7d9b15"
+            )
+            @PathVariable UUID id) {
+
+        StatusIngestao status = ingestaoProdutoService.consultar(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Ingestão não encontrada"));
+        return ResponseEntity.ok(status);
+    }
+
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Importar produtos em lote (JSON)",
+            description = "Importa um array JSON de produtos, gravando em lotes JDBC. "
+                    + "Itens inválidos são reportados individualmente sem interromper a importação"
     )
     @ApiResponse(
             responseCode = "200",
-            description = "Lista de produtos retornada com sucesso",
+            description = "Importação concluída; verifique 'rejeitados' e 'erros' para os itens não gravados",
             content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = Produto.class),
+                    schema = @Schema(implementation = ResultadoImportacao.class),
                     examples = @ExampleObject(
-                            name = "Lista de produtos",
+                            name = "Resultado da importação",
                             value = """
-                                    [
-                                        {
-                                            "id": 1,
-                                            "nome": "Mouse Logitech",
-                                            "preco": 120.0,
-                                            "categoria": {
-                                                "id": 1,
-                                                "nome": "Informática"
-                                            }
-                                        },
-                                        {
-                                            "id": 2,
-                                            "nome": "Teclado Mecânico",
-                                            "preco": 350.0,
-                                            "categoria": {
-                                                "id": 1,
-                                                "nome": "Informática"
-                                            }
-                                        },
-                                        {
-                                            "id": 3,
-                                            "nome": "Clean Code",
-                                            "preco": 89.90,
-                                            "categoria": {
-                                                "id": 2,
-                                                "nome": "Livros"
+                                    {
+                                        "recebidos": 3,
+                                        "importados": 2,
+                                        "rejeitados": 1,
+                                        "erros": [
+                                            {
+                                                "posicao": 3,
+                                                "mensagem": "Categoria 99 não encontrada"
                                             }
-                                        }
-                                    ]
+                                        ]
+                                    }
                                     """
                     )
             )
     )
-    public ResponseEntity<List<Produto>> listarProdutos() {
-        List<Produto> produtos = produtoService.listar();
+    public ResponseEntity<ResultadoImportacao> importarProdutos(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Array JSON de produtos, cada um com sua categoriaId",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Produtos",
+                                    value = """
+                                            [
+                                                {"nome": "Mouse Logitech", "preco": 120.0, "categoriaId": 1},
+                                                {"nome": "Clean Code", "preco": 89.90, "categoriaId": 2},
+                                                {"nome": "Cadeira Gamer", "preco": 990.0, "categoriaId": 99}
+                                            ]
+                                            """
+                            )
+                    )
+            )
+            InputStream corpo) {
+        ResultadoImportacao resultado = importacaoProdutoService.importarJson(corpo);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Importar produtos em lote (NDJSON)",
+            description = "Importa produtos enviados como NDJSON (um objeto JSON por linha), gravando em lotes JDBC. "
+                    + "Linhas inválidas são reportadas individualmente sem interromper a importação"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Importação concluída; verifique 'rejeitados' e 'erros' para as linhas não gravadas",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ResultadoImportacao.class)
+            )
+    )
+    public ResponseEntity<ResultadoImportacao> importarProdutosNdjson(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Um produto JSON por linha, cada um com sua categoriaId",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(
+                                    name = "Produtos",
+                                    value = """
+                                            {"nome": "Mouse Logitech", "preco": 120.0, "categoriaId": 1}
+                                            {"nome": "Clean Code", "preco": 89.90, "categoriaId": 2}
+                                            """
+                            )
+                    )
+            )
+            InputStream corpo) {
+        ResultadoImportacao resultado = importacaoProdutoService.importarNdjson(corpo);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @GetMapping(value = "/exportacao", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Exportar o catálogo completo (NDJSON)",
+            description = "Transmite todos os produtos com suas categorias, um objeto JSON por linha, lendo o banco com "
+                    + "cursor e sem carregar o catálogo em memória. A resposta é compactada com gzip quando o cliente "
+                    + "envia Accept-Encoding: gzip"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Catálogo exportado com sucesso",
+            content = @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                            name = "Produtos exportados",
+                            value = """
+                                    {"id":1,"nome":"Mouse Logitech","preco":120.00,"categoria":{"id":1,"nome":"Informática"}}
+                                    {"id":2,"nome":"Teclado Mecânico","preco":350.00,"categoria":{"id":1,"nome":"Informática"}}
+                                    """
+                    )
+            )
+    )
+    public ResponseEntity<StreamingResponseBody> exportarProdutos(
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody corpo = saida -> {
+            OutputStream destino = gzip ? new GZIPOutputStream(saida, BUFFER_EXPORTACAO) : saida;
+            try (OutputStream buffer = new BufferedOutputStream(destino, BUFFER_EXPORTACAO)) {
+                exportacaoProdutoService.exportar(buffer);
+            }
+        };
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"produtos.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar produtos por nome",
+            description = "Busca produtos pelo nome usando um índice invertido em memória. Todos os termos precisam "
+                    + "aparecer no nome; o último termo é tratado como prefixo. A busca ignora acentos e maiúsculas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Produtos encontrados, ordenados por ID",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProdutoResposta.class),
+                            examples = @ExampleObject(
+                                    name = "Busca por 'teclado mec'",
+                                    value = """
+                                            [
+                                                {
+                                                    "id": 2,
+                                                    "nome": "Teclado Mecânico",
+                                                    "preco": 350.0,
+                                                    "categoria": {
+                                                        "id": 1,
+                                                        "nome": "Informática"
+                                                    }
+                                                }
+                                            ]
+                                            """
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Termo de busca ausente ou limite inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<ProdutoResposta>> buscarProdutos(
+            @Parameter(
+                    description = "Termos de busca (o último é tratado como prefixo)",
+                    required = true,
+                    example = "teclado mec"
+            )
+            @RequestParam String q,
+            @Parameter(
+                    description = "Quantidade máxima de produtos retornados (limitada pela configuração do servidor)",
+                    example = "50"
+            )
+            @RequestParam(required = false) Integer limite) {
+
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o termo de busca");
+        }
+
+        List<ProdutoResposta> produtos = produtoService.buscar(q, limite);
         return ResponseEntity.ok(produtos);
     }
+
+    private static OrdenacaoProduto ordenacao(String sort) {
+        try {
+            return OrdenacaoProduto.de(sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "If-Match exige um ETag forte; ETags fracos (W/) não são aceitos");
+        }
+        valor = valor.replace("\"", "");
+        int formato = valor.indexOf('-');
+        if (formato > 0) {
+            valor = valor.substring(0, formato);
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "If-Match não corresponde a nenhuma versão do produto");
+        }
+    }
 }
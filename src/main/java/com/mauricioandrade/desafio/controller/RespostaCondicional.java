@@ -0,0 +1,137 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.mauricioandrade.desafio.config.HttpCacheProperties;
+import com.mauricioandrade.desafio.config.JsonPadraoContentNegotiationStrategy;
+import com.mauricioandrade.desafio.config.PaginaProtobufHttpMessageConverter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+class RespostaCondicional {
+
+    private static final Formato JSON = new Formato(MediaType.APPLICATION_JSON, "");
+    private static final Formato CBOR = new Formato(MediaType.APPLICATION_CBOR, "-cbor");
+    private static final Formato SMILE = new Formato(new MediaType("application", "x-jackson-smile"), "-smile");
+    private static final Formato PROTOBUF = new Formato(PaginaProtobufHttpMessageConverter.PROTOBUF, "-pb");
+    private static final List<Formato> FORMATOS = List.of(JSON, CBOR, SMILE);
+    private static final List<Formato> FORMATOS_PAGINA = List.of(JSON, CBOR, SMILE, PROTOBUF);
+
+    private final CacheControl cacheControl;
+    private final ContentNegotiationStrategy negociacao = new JsonPadraoContentNegotiationStrategy();
+
+    RespostaCondicional(HttpCacheProperties properties) {
+        this.cacheControl = CacheControl.maxAge(properties.maxAge()).mustRevalidate();
+    }
+
+    <T> ResponseEntity<T> responder(WebRequest requisicao, String etag, Supplier<T> corpo) {
+        return responder(requisicao, etag, FORMATOS, cacheControl, corpo);
+    }
+
+    <T> ResponseEntity<T> responderPagina(WebRequest requisicao, String etag, Supplier<T> corpo) {
+        return responder(requisicao, etag, FORMATOS_PAGINA, cacheControl, corpo);
+    }
+
+    <T> ResponseEntity<T> responderVersao(WebRequest requisicao, String etag, Supplier<T> corpo) {
+        return responder(requisicao, etag, FORMATOS, null, corpo);
+    }
+
+    <T> ResponseEntity<T> alterado(WebRequest requisicao, String etag, T corpo) {
+        Formato formato = negociar(requisicao, FORMATOS);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (formato == null) {
+            return resposta.eTag(etag).body(corpo);
+        }
+        return resposta.eTag(formato.etag(etag))
+                .contentType(formato.tipo())
+                .body(corpo);
+    }
+
+    ResponseEntity<byte[]> responderJson(WebRequest requisicao, String etag, Supplier<byte[]> corpo) {
+        if (requisicao.checkNotModified(etag)) {
+            return naoModificado(etag, cacheControl);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(corpo.get());
+    }
+
+    boolean aceitaJson(WebRequest requisicao) {
+        return negociar(requisicao, FORMATOS_PAGINA) == JSON;
+    }
+
+    private <T> ResponseEntity<T> responder(WebRequest requisicao, String etag, List<Formato> formatos,
+                                            CacheControl cache, Supplier<T> corpo) {
+        Formato formato = negociar(requisicao, formatos);
+        String etagFormato = formato == null ? etag : formato.etag(etag);
+        if (requisicao.checkNotModified(etagFormato)) {
+            return naoModificado(etagFormato, cache);
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(etagFormato)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (cache != null) {
+            resposta.cacheControl(cache);
+        }
+        if (formato != null) {
+            resposta.contentType(formato.tipo());
+        }
+        return resposta.body(corpo.get());
+    }
+
+    private Formato negociar(WebRequest requisicao, List<Formato> formatos) {
+        List<MediaType> aceitos;
+        try {
+            aceitos = negociacao.resolveMediaTypes((NativeWebRequest) requisicao);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            for (Formato formato : formatos) {
+                if (aceito.includes(formato.tipo())) {
+                    return formato;
+                }
+            }
+        }
+        return null;
+    }
+
+    private <T> ResponseEntity<T> naoModificado(String etag, CacheControl cache) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (cache != null) {
+            resposta.cacheControl(cache);
+        }
+        return resposta.build();
+    }
+
+    private record Formato(MediaType tipo, String sufixo) {
+
+        String etag(String etag) {
+            if (sufixo.isEmpty()) {
+                return etag;
+            }
+            if (etag.endsWith("\"")) {
+                return etag.substring(0, etag.length() - 1) + sufixo + "\"";
+            }
+            return etag + sufixo;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Produto ou categoria inserido ou alterado no catálogo")
+public record AlteracaoCatalogo(
+        @Schema(description = "Posição da alteração na sequência do catálogo", example = "1042")
+        long sequencia,
+        @Schema(description = "Tipo do registro alterado", example = "PRODUTO")
+        TipoAlteracao tipo,
+        @Schema(description = "Estado atual do produto (nulo quando o tipo é CATEGORIA)")
+        ProdutoResposta produto,
+        @Schema(description = "Estado atual da categoria (nulo quando o tipo é PRODUTO)")
+        CategoriaResposta categoria
+) {
+}
@@ -0,0 +1,29 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Alteração parcial de um produto; campos ausentes são mantidos")
+public record AlteracaoProduto(
+        @Schema(description = "Novo nome do produto", example = "Mouse Logitech M170")
+        String nome,
+        @Schema(description = "Novo preço do produto em reais", example = "79.90")
+        BigDecimal preco,
+        @Schema(description = "ID da nova categoria do produto", example = "1")
+        Long categoriaId
+) {
+
+    public String validar() {
+        if (nome == null && preco == null && categoriaId == null) {
+            return "Informe ao menos um campo para alterar";
+        }
+        if (nome != null && nome.isBlank()) {
+            return "Nome não pode ser vazio";
+        }
+        if (preco != null && preco.compareTo(BigDecimal.ZERO) < 0) {
+            return "Preço não pode ser negativo";
+        }
+        return null;
+    }
+}
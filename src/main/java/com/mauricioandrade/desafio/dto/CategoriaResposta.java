@@ -0,0 +1,17 @@
+package com.mauricioandrade.desafio.dto;
+
+import com.mauricioandrade.desafio.model.Categoria;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Categoria de produtos")
+public record CategoriaResposta(
+        @Schema(description = "ID único da categoria", example = "1")
+        Long id,
+        @Schema(description = "Nome da categoria", example = "Informática")
+        String nome
+) {
+
+    public static CategoriaResposta de(Categoria categoria) {
+        return new CategoriaResposta(categoria.getId(), categoria.getNome());
+    }
+}
@@ -0,0 +1,35 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.math.BigDecimal;
+
+public record CursorProduto(BigDecimal preco, long id) {
+
+    private static final String SEPARADOR = ":";
+
+    public static CursorProduto apos(ProdutoResposta produto) {
+        return new CursorProduto(produto.preco(), produto.id());
+    }
+
+    public static CursorProduto ler(String chave, OrdenacaoProduto ordenacao) {
+        String[] partes = chave.split(SEPARADOR);
+        if (!partes[0].equals(ordenacao.valor())) {
+            throw new IllegalArgumentException("Cursor gerado para outra ordenação");
+        }
+        if (ordenacao == OrdenacaoProduto.ID && partes.length == 2) {
+            return new CursorProduto(null, Long.parseLong(partes[1]));
+        }
+        if (ordenacao != OrdenacaoProduto.ID && partes.length == 3) {
+            BigDecimal preco = partes[1].isEmpty() ? null : new BigDecimal(partes[1]);
+            return new CursorProduto(preco, Long.parseLong(partes[2]));
+        }
+        throw new IllegalArgumentException("Cursor malformado");
+    }
+
+    public String chave(OrdenacaoProduto ordenacao) {
+        if (ordenacao == OrdenacaoProduto.ID) {
+            return ordenacao.valor() + SEPARADOR + id;
+        }
+        String valor = preco == null ? "" : preco.toPlainString();
+        return ordenacao.valor() + SEPARADOR + valor + SEPARADOR + id;
+    }
+}
@@ -0,0 +1,12 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Item rejeitado na importação em lote")
+public record ErroImportacao(
+        @Schema(description = "Posição do item no array JSON ou linha do NDJSON (começando em 1)", example = "42")
+        long posicao,
+        @Schema(description = "Motivo da rejeição", example = "Categoria 7 não encontrada")
+        String mensagem
+) {
+}
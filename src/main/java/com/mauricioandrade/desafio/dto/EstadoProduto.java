@@ -0,0 +1,6 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.math.BigDecimal;
+
+public record EstadoProduto(Long id, Long categoriaId, BigDecimal preco) {
+}
@@ -0,0 +1,13 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.math.BigDecimal;
+
+public record EstatisticasCategoria(
+        Long categoriaId,
+        String categoriaNome,
+        long quantidadeProdutos,
+        BigDecimal precoMinimo,
+        BigDecimal precoMedio,
+        BigDecimal precoMaximo
+) {
+}
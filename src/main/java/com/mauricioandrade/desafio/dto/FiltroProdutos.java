@@ -0,0 +1,19 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.math.BigDecimal;
+
+public record FiltroProdutos(
+        Long categoriaId,
+        BigDecimal precoMinimo,
+        BigDecimal precoMaximo,
+        OrdenacaoProduto ordenacao
+) {
+
+    public static FiltroProdutos todos() {
+        return new FiltroProdutos(null, null, null, OrdenacaoProduto.ID);
+    }
+
+    public static FiltroProdutos daCategoria(Long categoriaId) {
+        return new FiltroProdutos(categoriaId, null, null, OrdenacaoProduto.ID);
+    }
+}
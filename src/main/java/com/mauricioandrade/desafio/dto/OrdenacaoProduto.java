@@ -0,0 +1,30 @@
+package com.mauricioandrade.desafio.dto;
+
+public enum OrdenacaoProduto {
+
+    ID("id"),
+    PRECO("preco"),
+    PRECO_DESC("-preco");
+
+    private final String valor;
+
+    OrdenacaoProduto(String valor) {
+        this.valor = valor;
+    }
+
+    public String valor() {
+        return valor;
+    }
+
+    public static OrdenacaoProduto de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return ID;
+        }
+        for (OrdenacaoProduto ordenacao : values()) {
+            if (ordenacao.valor.equalsIgnoreCase(valor.trim())) {
+                return ordenacao;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + valor);
+    }
+}
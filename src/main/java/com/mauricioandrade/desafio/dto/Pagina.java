@@ -0,0 +1,14 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de resultados paginada por cursor")
+public record Pagina<T>(
+        @Schema(description = "Itens da página")
+        List<T> itens,
+        @Schema(description = "Cursor opaco da próxima página (nulo quando não há mais resultados)", example = "Mw")
+        String proximo
+) {
+}
@@ -0,0 +1,16 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página do feed de alterações do catálogo")
+public record PaginaAlteracoes(
+        @Schema(description = "Alterações em ordem crescente de sequência")
+        List<AlteracaoCatalogo> itens,
+        @Schema(description = "Valor a enviar em 'since' na próxima consulta", example = "1042")
+        long proxima,
+        @Schema(description = "Indica se já há mais alterações depois desta página", example = "false")
+        boolean temMais
+) {
+}
@@ -0,0 +1,75 @@
+package com.mauricioandrade.desafio.dto;
+
+import com.mauricioandrade.desafio.protobuf.CategoriaProto;
+import com.mauricioandrade.desafio.protobuf.PaginaProdutosProto;
+import com.mauricioandrade.desafio.protobuf.ProdutoProto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class PaginaProtobuf {
+
+    private PaginaProtobuf() {
+    }
+
+    public static PaginaProdutosProto codificar(Pagina<ProdutoResposta> pagina) {
+        PaginaProdutosProto.Builder mensagem = PaginaProdutosProto.newBuilder();
+        Set<Long> categorias = new HashSet<>();
+        for (ProdutoResposta produto : pagina.itens()) {
+            CategoriaResposta categoria = produto.categoria();
+            if (categorias.add(categoria.id())) {
+                CategoriaProto.Builder proto = CategoriaProto.newBuilder().setId(categoria.id());
+                if (categoria.nome() != null) {
+                    proto.setNome(categoria.nome());
+                }
+                mensagem.addCategorias(proto);
+            }
+            ProdutoProto.Builder item = ProdutoProto.newBuilder()
+                    .setId(produto.id())
+                    .setCategoriaId(categoria.id());
+            if (produto.nome() != null) {
+                item.setNome(produto.nome());
+            }
+            if (produto.sku() != null) {
+                item.setSku(produto.sku());
+            }
+            if (produto.preco() != null) {
+                item.setPrecoCentavos(produto.preco().setScale(2, RoundingMode.HALF_EVEN)
+                        .unscaledValue().longValueExact());
+            }
+            if (produto.versao() != null) {
+                item.setVersao(produto.versao());
+            }
+            mensagem.addItens(item);
+        }
+        if (pagina.proximo() != null) {
+            mensagem.setProximo(pagina.proximo());
+        }
+        return mensagem.build();
+    }
+
+    public static Pagina<ProdutoResposta> decodificar(PaginaProdutosProto mensagem) {
+        Map<Long, CategoriaResposta> categorias = new HashMap<>();
+        for (CategoriaProto categoria : mensagem.getCategoriasList()) {
+            categorias.put(categoria.getId(), new CategoriaResposta(categoria.getId(),
+                    categoria.hasNome() ? categoria.getNome() : null));
+        }
+        List<ProdutoResposta> itens = new ArrayList<>(mensagem.getItensCount());
+        for (ProdutoProto item : mensagem.getItensList()) {
+            itens.add(new ProdutoResposta(
+                    item.getId(),
+                    item.hasSku() ? item.getSku() : null,
+                    item.hasNome() ? item.getNome() : null,
+                    item.hasPrecoCentavos() ? BigDecimal.valueOf(item.getPrecoCentavos(), 2) : null,
+                    item.hasVersao() ? item.getVersao() : null,
+                    categorias.get(item.getCategoriaId())));
+        }
+        return new Pagina<>(itens, mensagem.hasProximo() ? mensagem.getProximo() : null);
+    }
+}
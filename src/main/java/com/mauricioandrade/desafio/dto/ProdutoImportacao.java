@@ -0,0 +1,32 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Produto recebido na importação em lote")
+public record ProdutoImportacao(
+        @Schema(description = "Nome do produto", example = "Mouse Gamer RGB", required = true)
+        String nome,
+        @Schema(description = "Preço do produto em reais", example = "150.00", required = true)
+        BigDecimal preco,
+        @Schema(description = "ID da categoria à qual o produto será vinculado", example = "1", required = true)
+        Long categoriaId
+) {
+
+    public String validar() {
+        if (nome == null || nome.isBlank()) {
+            return "Nome é obrigatório";
+        }
+        if (preco == null) {
+            return "Preço é obrigatório";
+        }
+        if (preco.compareTo(BigDecimal.ZERO) < 0) {
+            return "Preço não pode ser negativo";
+        }
+        if (categoriaId == null) {
+            return "categoriaId é obrigatório";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,4 @@
+package com.mauricioandrade.desafio.dto;
+
+public record ProdutoMesclado(String sku, Long id, EstadoProduto anterior) {
+}
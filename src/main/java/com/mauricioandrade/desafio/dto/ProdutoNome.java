@@ -0,0 +1,4 @@
+package com.mauricioandrade.desafio.dto;
+
+public record ProdutoNome(Long id, String nome) {
+}
@@ -0,0 +1,30 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Produto identificado pelo SKU em uma carga de fornecedor")
+public record ProdutoPorSku(
+        @Schema(description = "Código do produto no fornecedor (SKU)", example = "LOG-M170-PRETO", required = true)
+        String sku,
+        @Schema(description = "Nome do produto", example = "Mouse Logitech M170", required = true)
+        String nome,
+        @Schema(description = "Preço do produto em reais", example = "89.90", required = true)
+        BigDecimal preco,
+        @Schema(description = "ID da categoria à qual o produto será vinculado", example = "1", required = true)
+        Long categoriaId
+) {
+
+    public static final int TAMANHO_MAXIMO_SKU = 64;
+
+    public String validar() {
+        if (sku == null || sku.isBlank()) {
+            return "SKU é obrigatório";
+        }
+        if (sku.length() > TAMANHO_MAXIMO_SKU) {
+            return "SKU deve ter no máximo " + TAMANHO_MAXIMO_SKU + " caracteres";
+        }
+        return new ProdutoImportacao(nome, preco, categoriaId).validar();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mauricioandrade.desafio.dto;
+
+import com.mauricioandrade.desafio.model.Produto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Produto do catálogo")
+public record ProdutoResposta(
+        @Schema(description = "ID único do produto", example = "1")
+        Long id,
+        @Schema(description = "Código do produto no fornecedor (SKU)", example = "LOG-M170-PRETO")
+        String sku,
+        @Schema(description = "Nome do produto", example = "Mouse Gamer RGB")
+        String nome,
+        @Schema(description = "Preço do produto em reais", example = "150.00")
+        BigDecimal preco,
+        @Schema(description = "Versão do produto, usada em If-Match no PATCH", example = "0")
+        Long versao,
+        @Schema(description = "Categoria à qual o produto pertence")
+        CategoriaResposta categoria
+) {
+
+    public ProdutoResposta(Long id, String sku, String nome, BigDecimal preco, Long versao,
+                           Long categoriaId, String categoriaNome) {
+        this(id, sku, nome, preco, versao, new CategoriaResposta(categoriaId, categoriaNome));
+    }
+
+    public static ProdutoResposta de(Produto produto) {
+        return de(produto, CategoriaResposta.de(produto.getCategoria()));
+    }
+
+    public static ProdutoResposta de(Produto produto, CategoriaResposta categoria) {
+        return new ProdutoResposta(produto.getId(), produto.getSku(), produto.getNome(), produto.getPreco(),
+                produto.getVersao(), categoria);
+    }
+}
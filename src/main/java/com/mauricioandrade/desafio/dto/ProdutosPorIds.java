@@ -0,0 +1,14 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de uma consulta de produtos por IDs")
+public record ProdutosPorIds(
+        @Schema(description = "Produtos encontrados, na ordem dos IDs solicitados")
+        List<ProdutoResposta> itens,
+        @Schema(description = "IDs solicitados que não correspondem a nenhum produto", example = "[42]")
+        List<Long> naoEncontrados
+) {
+}
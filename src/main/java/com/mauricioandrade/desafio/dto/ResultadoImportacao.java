@@ -0,0 +1,18 @@
+package com.mauricioandrade.desafio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resumo de uma importação de produtos em lote")
+public record ResultadoImportacao(
+        @Schema(description = "Quantidade de itens recebidos", example = "1000")
+        long recebidos,
+        @Schema(description = "Quantidade de produtos gravados", example = "998")
+        long importados,
+        @Schema(description = "Quantidade de itens rejeitados", example = "2")
+        long rejeitados,
+        @Schema(description = "Itens rejeitados (limitado por catalogo.importacao.maximo-erros)")
+        List<ErroImportacao> erros
+) {
+}
@@ -0,0 +1,70 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record ResumoCategoria(
+        Long categoriaId,
+        String categoriaNome,
+        long quantidade,
+        long quantidadeComPreco,
+        BigDecimal somaPrecos,
+        BigDecimal precoMinimo,
+        BigDecimal precoMaximo
+) {
+
+    private static final int ESCALA_MEDIA = 2;
+
+    public static ResumoCategoria vazio(Long categoriaId, String categoriaNome) {
+        return new ResumoCategoria(categoriaId, categoriaNome, 0, 0, null, null, null);
+    }
+
+    public ResumoCategoria comNome(String nome) {
+        return new ResumoCategoria(categoriaId, nome, quantidade, quantidadeComPreco,
+                somaPrecos, precoMinimo, precoMaximo);
+    }
+
+    public ResumoCategoria mais(BigDecimal preco) {
+        if (preco == null) {
+            return new ResumoCategoria(categoriaId, categoriaNome, quantidade + 1, quantidadeComPreco,
+                    somaPrecos, precoMinimo, precoMaximo);
+        }
+        return new ResumoCategoria(
+                categoriaId,
+                categoriaNome,
+                quantidade + 1,
+                quantidadeComPreco + 1,
+                somaPrecos == null ? preco : somaPrecos.add(preco),
+                precoMinimo == null || preco.compareTo(precoMinimo) < 0 ? preco : precoMinimo,
+                precoMaximo == null || preco.compareTo(precoMaximo) > 0 ? preco : precoMaximo
+        );
+    }
+
+    public ResumoCategoria menos(BigDecimal preco) {
+        if (preco == null) {
+            return new ResumoCategoria(categoriaId, categoriaNome, quantidade - 1, quantidadeComPreco,
+                    somaPrecos, precoMinimo, precoMaximo);
+        }
+        if (quantidadeComPreco <= 1) {
+            return new ResumoCategoria(categoriaId, categoriaNome, quantidade - 1, 0, null, null, null);
+        }
+        return new ResumoCategoria(categoriaId, categoriaNome, quantidade - 1, quantidadeComPreco - 1,
+                somaPrecos.subtract(preco), precoMinimo, precoMaximo);
+    }
+
+    public boolean extremo(BigDecimal preco) {
+        return preco != null && precoMinimo != null
+                && (preco.compareTo(precoMinimo) == 0 || preco.compareTo(precoMaximo) == 0);
+    }
+
+    public ResumoCategoria comExtremos(BigDecimal minimo, BigDecimal maximo) {
+        return new ResumoCategoria(categoriaId, categoriaNome, quantidade, quantidadeComPreco,
+                somaPrecos, minimo, maximo);
+    }
+
+    public EstatisticasCategoria estatisticas() {
+        BigDecimal media = quantidadeComPreco == 0 ? null
+                : somaPrecos.divide(BigDecimal.valueOf(quantidadeComPreco), ESCALA_MEDIA, RoundingMode.HALF_EVEN);
+        return new EstatisticasCategoria(categoriaId, categoriaNome, quantidade, precoMinimo, media, precoMaximo);
+    }
+}
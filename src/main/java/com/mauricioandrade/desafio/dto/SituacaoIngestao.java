@@ -0,0 +1,7 @@
+package com.mauricioandrade.desafio.dto;
+
+public enum SituacaoIngestao {
+    PENDENTE,
+    GRAVADO,
+    FALHOU
+}
@@ -0,0 +1,18 @@
+package com.mauricioandrade.desafio.dto;
+
+import java.util.UUID;
+
+public record StatusIngestao(UUID id, SituacaoIngestao situacao, Long produtoId, String mensagem) {
+
+    public static StatusIngestao pendente(UUID id) {
+        return new StatusIngestao(id, SituacaoIngestao.PENDENTE, null, null);
+    }
+
+    public static StatusIngestao gravado(UUID id, Long produtoId) {
+        return new StatusIngestao(id, SituacaoIngestao.GRAVADO, produtoId, null);
+    }
+
+    public static StatusIngestao falhou(UUID id, String mensagem) {
+        return new StatusIngestao(id, SituacaoIngestao.FALHOU, null, mensagem);
+    }
+}
@@ -0,0 +1,6 @@
+package com.mauricioandrade.desafio.dto;
+
+public enum TipoAlteracao {
+    PRODUTO,
+    CATEGORIA
+}
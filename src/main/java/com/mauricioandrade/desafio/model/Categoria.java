@@ -1,8 +1,11 @@
 package com.mauricioandrade.desafio.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mauricioandrade.desafio.config.CacheSegundoNivelConfig;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Objects;
@@ -10,14 +13,20 @@ import java.util.Set;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_CATEGORIA)
 @Table(name = "tb_categoria")
 @Schema(description = "Representa uma categoria de produtos")
 public class Categoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_categoria")
+    @SequenceGenerator(name = "seq_categoria", sequenceName = "seq_categoria", allocationSize = 50)
     @Schema(description = "ID único da categoria", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
+    @Version
+    @JsonIgnore
+    private Long versao;
     @Schema(description = "Nome da categoria", example = "Eletrônicos", required = true)
     private String nome;
 
@@ -47,6 +56,10 @@ public class Categoria {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public String getNome() {
         return nome;
     }
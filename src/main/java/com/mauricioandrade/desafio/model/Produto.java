@@ -1,26 +1,47 @@
 package com.mauricioandrade.desafio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mauricioandrade.desafio.config.CacheSegundoNivelConfig;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tb_produto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_PRODUTO)
+@Table(
+        name = "tb_produto",
+        indexes = {
+                @Index(name = "idx_produto_categoria_id", columnList = "categoria_id, id"),
+                @Index(name = "idx_produto_categoria_preco", columnList = "categoria_id, preco, id"),
+                @Index(name = "idx_produto_preco_id", columnList = "preco, id"),
+                @Index(name = "uk_produto_sku", columnList = "sku", unique = true)
+        }
+)
 @Schema(description = "Representa um produto do catálogo")
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq_produto")
+    @SequenceGenerator(name = "seq_produto", sequenceName = "seq_produto", allocationSize = 50)
     @Schema(description = "ID único do produto", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
+    @Column(length = 64)
+    @Schema(description = "Código do produto no fornecedor (SKU), único no catálogo", example = "LOG-M170-PRETO")
+    private String sku;
+    @Version
+    @JsonIgnore
+    private Long versao;
     @Schema(description = "Nome do produto", example = "Mouse Gamer RGB", required = true)
     private String nome;
     @Schema(description = "Preço do produto em reais", example = "150.00", required = true)
     private BigDecimal preco;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     @Schema(description = "Categoria à qual o produto pertence")
     private Categoria categoria;
@@ -43,6 +64,18 @@ public class Produto {
         this.id = id;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
     public String getNome() {
         return nome;
     }
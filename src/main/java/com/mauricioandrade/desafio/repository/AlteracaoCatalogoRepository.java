@@ -0,0 +1,106 @@
+package com.mauricioandrade.desafio.repository;
+
+import com.mauricioandrade.desafio.dto.AlteracaoCatalogo;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class AlteracaoCatalogoRepository {
+
+    private static final String MARCAR_PENDENTE = """
+            merge into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+            key (tipo, entidade_id)
+            values (?, ?, null)
+            """;
+
+    private static final String SEQUENCIAR_PENDENTES = """
+            merge into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+            key (tipo, entidade_id)
+            select tipo, entidade_id, next value for seq_alteracao_catalogo
+            from tb_alteracao_catalogo
+            where sequencia is null
+            order by tipo, entidade_id
+            """;
+
+    private static final String REGISTRAR_CATEGORIAS_AUSENTES = """
+            insert into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+            select 'CATEGORIA', c.id, next value for seq_alteracao_catalogo
+            from tb_categoria c
+            where not exists (
+                select 1 from tb_alteracao_catalogo a where a.tipo = 'CATEGORIA' and a.entidade_id = c.id
+            )
+            order by c.id
+            """;
+
+    private static final String REGISTRAR_PRODUTOS_AUSENTES = """
+            insert into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+            select 'PRODUTO', p.id, next value for seq_alteracao_catalogo
+            from tb_produto p
+            where not exists (
+                select 1 from tb_alteracao_catalogo a where a.tipo = 'PRODUTO' and a.entidade_id = p.id
+            )
+            order by p.id
+            """;
+
+    private static final String LISTAR = """
+            select a.sequencia, a.tipo, a.entidade_id,
+                   p.sku, p.nome as produto_nome, p.preco, p.versao,
+                   pc.id as produto_categoria_id, pc.nome as produto_categoria_nome,
+                   c.nome as categoria_nome
+            from tb_alteracao_catalogo a
+            left join tb_produto p on a.tipo = 'PRODUTO' and p.id = a.entidade_id
+            left join tb_categoria pc on pc.id = p.categoria_id
+            left join tb_categoria c on a.tipo = 'CATEGORIA' and c.id = a.entidade_id
+            where a.sequencia > ?
+              and (p.id is not null or c.id is not null)
+            order by a.sequencia
+            limit ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public AlteracaoCatalogoRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void marcarPendentes(TipoAlteracao tipo, Collection<Long> ids) {
+        jdbc.batchUpdate(MARCAR_PENDENTE, ids, ids.size(), (comando, id) -> {
+            comando.setString(1, tipo.name());
+            comando.setLong(2, id);
+        });
+    }
+
+    public int sequenciarPendentes() {
+        return jdbc.update(SEQUENCIAR_PENDENTES);
+    }
+
+    public int registrarAusentes() {
+        return jdbc.update(REGISTRAR_CATEGORIAS_AUSENTES) + jdbc.update(REGISTRAR_PRODUTOS_AUSENTES);
+    }
+
+    public List<AlteracaoCatalogo> listar(long desde, int limite) {
+        return jdbc.query(LISTAR, (linha, numero) -> alteracao(linha), desde, limite);
+    }
+
+    private static AlteracaoCatalogo alteracao(ResultSet linha) throws SQLException {
+        long sequencia = linha.getLong("sequencia");
+        TipoAlteracao tipo = TipoAlteracao.valueOf(linha.getString("tipo"));
+        long id = linha.getLong("entidade_id");
+        if (tipo == TipoAlteracao.CATEGORIA) {
+            return new AlteracaoCatalogo(sequencia, tipo, null,
+                    new CategoriaResposta(id, linha.getString("categoria_nome")));
+        }
+        ProdutoResposta produto = new ProdutoResposta(id, linha.getString("sku"), linha.getString("produto_nome"),
+                linha.getBigDecimal("preco"), linha.getLong("versao"),
+                linha.getLong("produto_categoria_id"), linha.getString("produto_categoria_nome"));
+        return new AlteracaoCatalogo(sequencia, tipo, produto, null);
+    }
+}
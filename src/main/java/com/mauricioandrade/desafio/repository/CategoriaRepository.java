@@ -1,7 +1,35 @@
 package com.mauricioandrade.desafio.repository;
 
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.ResumoCategoria;
 import com.mauricioandrade.desafio.model.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
+
+    @Query("select new com.mauricioandrade.desafio.dto.CategoriaResposta(c.id, c.nome) from Categoria c order by c.id")
+    List<CategoriaResposta> listarRespostas();
+
+    @Query("""
+            select new com.mauricioandrade.desafio.dto.ResumoCategoria(
+                c.id, c.nome, count(p.id), count(p.preco), sum(p.preco), min(p.preco), max(p.preco))
+            from Categoria c left join c.produtos p
+            group by c.id, c.nome
+            order by c.id
+            """)
+    List<ResumoCategoria> resumir();
+
+    @Query("""
+            select new com.mauricioandrade.desafio.dto.ResumoCategoria(
+                c.id, c.nome, count(p.id), count(p.preco), sum(p.preco), min(p.preco), max(p.preco))
+            from Categoria c left join c.produtos p
+            where c.id = :categoriaId
+            group by c.id, c.nome
+            """)
+    Optional<ResumoCategoria> resumir(@Param("categoriaId") Long categoriaId);
 }
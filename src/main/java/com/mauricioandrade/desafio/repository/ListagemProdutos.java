@@ -0,0 +1,59 @@
+package com.mauricioandrade.desafio.repository;
+
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class ListagemProdutos {
+
+    private ListagemProdutos() {
+    }
+
+    public static String condicoes(FiltroProdutos filtro, CursorProduto apos, String colunaCategoria,
+                                   Map<String, Object> parametros) {
+        List<String> condicoes = new ArrayList<>();
+
+        if (filtro.categoriaId() != null) {
+            condicoes.add(colunaCategoria + " = :categoriaId");
+            parametros.put("categoriaId", filtro.categoriaId());
+        }
+        if (filtro.precoMinimo() != null) {
+            condicoes.add("p.preco >= :precoMinimo");
+            parametros.put("precoMinimo", filtro.precoMinimo());
+        }
+        if (filtro.precoMaximo() != null) {
+            condicoes.add("p.preco <= :precoMaximo");
+            parametros.put("precoMaximo", filtro.precoMaximo());
+        }
+        if (apos != null) {
+            boolean aposSemPreco = apos.preco() == null;
+            switch (filtro.ordenacao()) {
+                case ID -> condicoes.add("p.id > :aposId");
+                case PRECO -> condicoes.add(aposSemPreco
+                        ? "(p.preco is not null or p.id > :aposId)"
+                        : "p.preco >= :aposPreco and (p.preco > :aposPreco or p.id > :aposId)");
+                case PRECO_DESC -> condicoes.add(aposSemPreco
+                        ? "p.preco is null and p.id < :aposId"
+                        : "(p.preco is null or p.preco <= :aposPreco and (p.preco < :aposPreco or p.id < :aposId))");
+            }
+            parametros.put("aposId", apos.id());
+            if (apos.preco() != null) {
+                parametros.put("aposPreco", apos.preco());
+            }
+        }
+
+        return condicoes.isEmpty() ? "" : " where " + String.join(" and ", condicoes);
+    }
+
+    public static String ordenacao(OrdenacaoProduto ordenacao) {
+        return switch (ordenacao) {
+            case ID -> " order by p.id";
+            case PRECO -> " order by p.preco asc nulls first, p.id";
+            case PRECO_DESC -> " order by p.preco desc nulls last, p.id desc";
+        };
+    }
+}
@@ -1,11 +1,46 @@
 package com.mauricioandrade.desafio.repository;
 
+import com.mauricioandrade.desafio.dto.ProdutoNome;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
 import com.mauricioandrade.desafio.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoRepositoryCustom {
 
-    List<Produto> findByCategoriaId(Long categoriaId);
+    @Query("""
+            select new com.mauricioandrade.desafio.dto.ProdutoResposta(p.id, p.sku, p.nome, p.preco, p.versao, c.id, c.nome)
+            from Produto p join p.categoria c
+            order by p.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ProdutoResposta> streamTodos();
+
+    @Query("""
+            select new com.mauricioandrade.desafio.dto.ProdutoResposta(p.id, p.sku, p.nome, p.preco, p.versao, c.id, c.nome)
+            from Produto p join p.categoria c
+            where p.id in :ids
+            order by p.id
+            """)
+    List<ProdutoResposta> listarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.mauricioandrade.desafio.dto.ProdutoResposta(p.id, p.sku, p.nome, p.preco, p.versao, c.id, c.nome)
+            from Produto p join p.categoria c
+            where p.sku = :sku
+            """)
+    Optional<ProdutoResposta> buscarPorSku(@Param("sku") String sku);
+
+    @Query("select new com.mauricioandrade.desafio.dto.ProdutoNome(p.id, p.nome) from Produto p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ProdutoNome> streamNomes();
 }
@@ -0,0 +1,23 @@
+package com.mauricioandrade.desafio.repository;
+
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.ProdutoMesclado;
+import com.mauricioandrade.desafio.dto.ProdutoPorSku;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProdutoRepositoryCustom {
+
+    List<ProdutoResposta> listar(FiltroProdutos filtro, CursorProduto apos, int limite);
+
+    List<ProdutoMesclado> mesclarPorSku(Collection<ProdutoPorSku> produtos);
+
+    Optional<EstadoProduto> travarEstado(Long id);
+
+    void descartarCaches(Collection<Long> ids);
+}
@@ -0,0 +1,135 @@
+package com.mauricioandrade.desafio.repository;
+
+import com.mauricioandrade.desafio.config.CacheSegundoNivelConfig;
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.ProdutoMesclado;
+import com.mauricioandrade.desafio.dto.ProdutoPorSku;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Produto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Cache;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+
+    private static final String ATUALIZAR_POR_SKU = """
+            select id, sku, categoria_id, preco from old table (
+                merge into tb_produto p
+                using (values %s) as v (sku, nome, preco, categoria_id)
+                on p.sku = v.sku
+                when matched then
+                    update set nome = v.nome, preco = v.preco, categoria_id = v.categoria_id, versao = p.versao + 1
+            )
+            """;
+    private static final String LINHA_ATUALIZACAO =
+            "(cast(? as varchar(64)), cast(? as varchar(255)), cast(? as numeric(38, 2)), cast(? as bigint))";
+    private static final String INSERIR_POR_SKU = """
+            select id, sku from final table (
+                insert into tb_produto (id, sku, nome, preco, categoria_id, versao)
+                values %s
+            )
+            """;
+    private static final String LINHA_INSERCAO = "(next value for seq_produto, ?, ?, ?, ?, 0)";
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbc;
+
+    ProdutoRepositoryCustomImpl(EntityManager entityManager, NamedParameterJdbcTemplate jdbc) {
+        this.entityManager = entityManager;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<ProdutoResposta> listar(FiltroProdutos filtro, CursorProduto apos, int limite) {
+        Map<String, Object> parametros = new HashMap<>();
+        String jpql = """
+                select new com.mauricioandrade.desafio.dto.ProdutoResposta(p.id, p.sku, p.nome, p.preco, p.versao, c.id, c.nome)
+                from Produto p join p.categoria c
+                """
+                + ListagemProdutos.condicoes(filtro, apos, "p.categoria.id", parametros)
+                + ListagemProdutos.ordenacao(filtro.ordenacao());
+
+        TypedQuery<ProdutoResposta> query = entityManager.createQuery(jpql, ProdutoResposta.class)
+                .setMaxResults(limite);
+        parametros.forEach(query::setParameter);
+        if (filtro.categoriaId() != null) {
+            query.setHint(HibernateHints.HINT_CACHEABLE, true);
+            query.setHint(HibernateHints.HINT_CACHE_REGION, CacheSegundoNivelConfig.REGIAO_PRODUTOS_POR_CATEGORIA);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<ProdutoMesclado> mesclarPorSku(Collection<ProdutoPorSku> produtos) {
+        List<ProdutoMesclado> mesclados = new ArrayList<>(produtos.size());
+        Map<String, EstadoProduto> anteriores = new HashMap<>();
+        jdbc.getJdbcOperations().query(ATUALIZAR_POR_SKU.formatted(linhas(LINHA_ATUALIZACAO, produtos.size())),
+                comando -> preencher(comando, produtos),
+                linha -> {
+                    anteriores.put(linha.getString("sku"), new EstadoProduto(linha.getLong("id"),
+                            linha.getLong("categoria_id"), linha.getBigDecimal("preco")));
+                });
+        List<ProdutoPorSku> novos = new ArrayList<>();
+        for (ProdutoPorSku produto : produtos) {
+            EstadoProduto anterior = anteriores.get(produto.sku());
+            if (anterior == null) {
+                novos.add(produto);
+            } else {
+                mesclados.add(new ProdutoMesclado(produto.sku(), anterior.id(), anterior));
+            }
+        }
+        if (!novos.isEmpty()) {
+            jdbc.getJdbcOperations().query(INSERIR_POR_SKU.formatted(linhas(LINHA_INSERCAO, novos.size())),
+                    comando -> preencher(comando, novos),
+                    linha -> {
+                        mesclados.add(new ProdutoMesclado(linha.getString("sku"), linha.getLong("id"), null));
+                    });
+        }
+        return mesclados;
+    }
+
+    @Override
+    public void descartarCaches(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        for (Long id : ids) {
+            cache.evictEntityData(Produto.class, id);
+        }
+        cache.evictQueryRegions();
+    }
+
+    @Override
+    public Optional<EstadoProduto> travarEstado(Long id) {
+        return jdbc.query("select id, categoria_id, preco from tb_produto where id = :id for update",
+                Map.of("id", id),
+                (linha, numero) -> new EstadoProduto(linha.getLong("id"), linha.getLong("categoria_id"),
+                        linha.getBigDecimal("preco"))).stream().findFirst();
+    }
+
+    private static String linhas(String linha, int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, linha));
+    }
+
+    private static void preencher(PreparedStatement comando, Collection<ProdutoPorSku> produtos) throws SQLException {
+        int indice = 1;
+        for (ProdutoPorSku produto : produtos) {
+            comando.setString(indice++, produto.sku());
+            comando.setString(indice++, produto.nome());
+            comando.setBigDecimal(indice++, produto.preco());
+            comando.setLong(indice++, produto.categoriaId());
+        }
+    }
+}
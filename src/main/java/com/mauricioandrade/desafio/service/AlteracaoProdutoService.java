@@ -0,0 +1,110 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.AlteracaoProperties;
+import com.mauricioandrade.desafio.dto.AlteracaoProduto;
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class AlteracaoProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AlteracaoProperties properties;
+    private final ApplicationEventPublisher eventos;
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final EstatisticasCategorias estatisticasCategorias;
+
+    public AlteracaoProdutoService(ProdutoRepository produtoRepository,
+                                   CategoriaRepository categoriaRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   AlteracaoProperties properties,
+                                   ApplicationEventPublisher eventos,
+                                   AlteracaoCatalogoRepository alteracaoRepository,
+                                   EstatisticasCategorias estatisticasCategorias) {
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventos = eventos;
+        this.alteracaoRepository = alteracaoRepository;
+        this.estatisticasCategorias = estatisticasCategorias;
+    }
+
+    public ProdutoResposta alterar(Long id, AlteracaoProduto alteracao, Long versaoEsperada) {
+        String erro = alteracao.validar();
+        if (erro != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+        }
+        long espera = properties.esperaInicial().toNanos();
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return estatisticasCategorias.contabilizar(() -> {
+                    Alterado alterado = transactionTemplate.execute(status -> aplicar(id, alteracao, versaoEsperada));
+                    eventos.publishEvent(new ProdutosSalvosEvent(List.of(alterado.produto()), false,
+                            Map.of(id, alterado.anterior()), alterado.sequencia()));
+                    return alterado.resposta();
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (versaoEsperada != null) {
+                    throw versaoDivergente();
+                }
+                if (tentativa >= properties.tentativas()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Produto alterado concorrentemente; tente novamente");
+                }
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(espera + 1));
+                espera = Math.min(espera * 2, properties.esperaMaxima().toNanos());
+            }
+        }
+    }
+
+    private Alterado aplicar(Long id, AlteracaoProduto alteracao, Long versaoEsperada) {
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado"));
+        if (versaoEsperada != null && !versaoEsperada.equals(produto.getVersao())) {
+            throw versaoDivergente();
+        }
+        EstadoProduto anterior = new EstadoProduto(id, produto.getCategoria().getId(), produto.getPreco());
+        if (alteracao.nome() != null) {
+            produto.setNome(alteracao.nome());
+        }
+        if (alteracao.preco() != null) {
+            produto.setPreco(alteracao.preco());
+        }
+        if (alteracao.categoriaId() != null) {
+            Categoria categoria = categoriaRepository.findById(alteracao.categoriaId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria não encontrada"));
+            produto.setCategoria(categoria);
+        }
+        Produto salvo = produtoRepository.saveAndFlush(produto);
+        alteracaoRepository.marcarPendentes(TipoAlteracao.PRODUTO, List.of(id));
+        return new Alterado(salvo, ProdutoResposta.de(salvo), anterior, estatisticasCategorias.sequenciar());
+    }
+
+    private static ResponseStatusException versaoDivergente() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "O produto foi alterado desde a versão informada em If-Match");
+    }
+
+    private record Alterado(Produto produto, ProdutoResposta resposta, EstadoProduto anterior, long sequencia) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.AlteracoesProperties;
+import com.mauricioandrade.desafio.dto.AlteracaoCatalogo;
+import com.mauricioandrade.desafio.dto.PaginaAlteracoes;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class AlteracoesCatalogo implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AlteracoesCatalogo.class);
+
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Paginacao paginacao;
+    private final AlteracoesProperties properties;
+    private final ExecutorService transmissao = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    public AlteracoesCatalogo(AlteracaoCatalogoRepository alteracaoRepository,
+                              TransactionTemplate transactionTemplate,
+                              Paginacao paginacao,
+                              AlteracoesProperties properties) {
+        this.alteracaoRepository = alteracaoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.paginacao = paginacao;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconciliar() {
+        int ausentes;
+        int pendentes;
+        synchronized (this) {
+            ausentes = transactionTemplate.execute(status -> alteracaoRepository.registrarAusentes());
+            pendentes = transactionTemplate.execute(status -> alteracaoRepository.sequenciarPendentes());
+        }
+        if (ausentes + pendentes > 0) {
+            log.info("Feed de alterações: {} produtos e categorias sem registro e {} alterações pendentes "
+                    + "foram sequenciados", ausentes, pendentes);
+            notificar();
+        }
+    }
+
+    @EventListener
+    public void categoriaSalva(CategoriaSalvaEvent event) {
+        sequenciar();
+    }
+
+    @EventListener
+    public void produtosSalvos(ProdutosSalvosEvent event) {
+        sequenciar();
+    }
+
+    public PaginaAlteracoes listar(Long desde, Integer limite) {
+        long inicio = desde(desde);
+        int tamanho = paginacao.limite(limite);
+        List<AlteracaoCatalogo> alteracoes = alteracaoRepository.listar(inicio, tamanho + 1);
+        boolean temMais = alteracoes.size() > tamanho;
+        List<AlteracaoCatalogo> itens = temMais ? List.copyOf(alteracoes.subList(0, tamanho)) : alteracoes;
+        long proxima = itens.isEmpty() ? inicio : itens.getLast().sequencia();
+        return new PaginaAlteracoes(itens, proxima, temMais);
+    }
+
+    public SseEmitter assinar(Long desde) {
+        SseEmitter emissor = new SseEmitter(properties.tempoLimiteSse().toMillis());
+        Assinante assinante = new Assinante(emissor, desde(desde));
+        assinantes.add(assinante);
+        emissor.onCompletion(() -> assinantes.remove(assinante));
+        emissor.onTimeout(emissor::complete);
+        emissor.onError(erro -> assinantes.remove(assinante));
+        assinante.agendar();
+        return emissor;
+    }
+
+    @Override
+    public void destroy() {
+        for (Assinante assinante : assinantes) {
+            assinante.emissor.complete();
+        }
+        transmissao.shutdownNow();
+    }
+
+    private void sequenciar() {
+        int sequenciadas;
+        try {
+            synchronized (this) {
+                sequenciadas = transactionTemplate.execute(status -> alteracaoRepository.sequenciarPendentes());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Feed de alterações: falha ao sequenciar as alterações pendentes; elas seguem marcadas e "
+                    + "entram na próxima escrita ou na inicialização", e);
+            return;
+        }
+        if (sequenciadas > 0) {
+            notificar();
+        }
+    }
+
+    private void notificar() {
+        for (Assinante assinante : assinantes) {
+            assinante.agendar();
+        }
+    }
+
+    private static long desde(Long desde) {
+        if (desde == null) {
+            return 0;
+        }
+        if (desde < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since não pode ser negativo");
+        }
+        return desde;
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emissor;
+        private final AtomicBoolean pendente = new AtomicBoolean();
+        private final AtomicBoolean transmitindo = new AtomicBoolean();
+        private long ultima;
+
+        Assinante(SseEmitter emissor, long ultima) {
+            this.emissor = emissor;
+            this.ultima = ultima;
+        }
+
+        void agendar() {
+            pendente.set(true);
+            if (transmitindo.compareAndSet(false, true)) {
+                transmissao.execute(this::transmitir);
+            }
+        }
+
+        private void transmitir() {
+            try {
+                while (pendente.getAndSet(false)) {
+                    enviarNovas();
+                }
+            } catch (IOException | RuntimeException e) {
+                assinantes.remove(this);
+                emissor.completeWithError(e);
+                return;
+            }
+            transmitindo.set(false);
+            if (pendente.get() && transmitindo.compareAndSet(false, true)) {
+                transmissao.execute(this::transmitir);
+            }
+        }
+
+        private void enviarNovas() throws IOException {
+            PaginaAlteracoes pagina;
+            do {
+                pagina = listar(ultima, null);
+                for (AlteracaoCatalogo alteracao : pagina.itens()) {
+                    emissor.send(SseEmitter.event()
+                            .id(Long.toString(alteracao.sequencia()))
+                            .name(alteracao.tipo().name().toLowerCase(Locale.ROOT))
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                }
+                ultima = pagina.proxima();
+            } while (pagina.temMais());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.SnapshotProperties;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class CatalogoEmMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoEmMemoria.class);
+
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SnapshotProperties properties;
+
+    private final Set<Long> pendentes = new LinkedHashSet<>();
+    private long solicitados;
+    private long aplicados;
+
+    private volatile SnapshotCatalogo atual;
+
+    public CatalogoEmMemoria(ProdutoRepository produtoRepository,
+                             CategoriaRepository categoriaRepository,
+                             TransactionTemplate transactionTemplate,
+                             SnapshotProperties properties) {
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void construir() {
+        if (!properties.habilitado()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        SnapshotCatalogo.Construtor construtor = SnapshotCatalogo.construtor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (CategoriaResposta categoria : categoriaRepository.listarRespostas()) {
+                    construtor.categoria(categoria.id(), categoria.nome());
+                }
+                try (Stream<ProdutoResposta> produtos = produtoRepository.streamTodos()) {
+                    produtos.forEach(produto -> construtor.produto(produto.id(), produto.sku(), produto.nome(),
+                            produto.preco(), produto.versao(), produto.categoria().id()));
+                }
+            });
+        } catch (ArithmeticException e) {
+            descartar(e);
+            return;
+        }
+        atual = construtor.construir();
+        log.info("Snapshot do catálogo construído: {} categorias, {} produtos em {} ms",
+                atual.categorias().size(), atual.quantidadeProdutos(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public Optional<SnapshotCatalogo> snapshot() {
+        return Optional.ofNullable(atual);
+    }
+
+    @EventListener
+    public synchronized void categoriaSalva(CategoriaSalvaEvent event) {
+        if (atual == null) {
+            return;
+        }
+        Categoria categoria = event.categoria();
+        atual = atual.comCategoria(categoria.getId(), categoria.getNome());
+    }
+
+    @EventListener
+    public void produtosSalvos(ProdutosSalvosEvent event) {
+        if (atual == null) {
+            return;
+        }
+        long pedido;
+        synchronized (pendentes) {
+            for (Produto produto : event.produtos()) {
+                pendentes.add(produto.getId());
+            }
+            pedido = ++solicitados;
+        }
+        synchronized (this) {
+            if (aplicados >= pedido) {
+                return;
+            }
+            List<Long> ids;
+            long ate;
+            synchronized (pendentes) {
+                ids = new ArrayList<>(pendentes);
+                pendentes.clear();
+                ate = solicitados;
+            }
+            try {
+                if (atual != null) {
+                    recarregar(ids);
+                }
+            } catch (RuntimeException e) {
+                synchronized (pendentes) {
+                    pendentes.addAll(ids);
+                }
+                throw e;
+            }
+            aplicados = ate;
+        }
+    }
+
+    private void recarregar(List<Long> ids) {
+        List<ProdutoResposta> gravados = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += properties.tamanhoRecarga()) {
+            gravados.addAll(produtoRepository.listarPorIds(
+                    ids.subList(i, Math.min(i + properties.tamanhoRecarga(), ids.size()))));
+        }
+        try {
+            atual = atual.comProdutos(gravados);
+        } catch (ArithmeticException e) {
+            descartar(e);
+        }
+    }
+
+    private void descartar(ArithmeticException e) {
+        atual = null;
+        log.warn("Snapshot do catálogo desativado, as listagens voltam a consultar o banco: {}", e.getMessage());
+    }
+}
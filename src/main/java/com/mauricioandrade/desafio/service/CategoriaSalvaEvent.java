@@ -0,0 +1,6 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.model.Categoria;
+
+public record CategoriaSalvaEvent(Categoria categoria) {
+}
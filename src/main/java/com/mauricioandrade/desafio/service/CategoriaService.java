@@ -1,8 +1,17 @@
 package com.mauricioandrade.desafio.service;
 
+import com.mauricioandrade.desafio.config.CacheConfig;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
 import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
 import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,20 +20,50 @@ import java.util.Optional;
 public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final ApplicationEventPublisher eventos;
+    private final CatalogoEmMemoria catalogoEmMemoria;
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public CategoriaService(CategoriaRepository categoriaRepository) {
+    public CategoriaService(CategoriaRepository categoriaRepository,
+                            ApplicationEventPublisher eventos,
+                            CatalogoEmMemoria catalogoEmMemoria,
+                            AlteracaoCatalogoRepository alteracaoRepository,
+                            TransactionTemplate transactionTemplate) {
         this.categoriaRepository = categoriaRepository;
+        this.eventos = eventos;
+        this.catalogoEmMemoria = catalogoEmMemoria;
+        this.alteracaoRepository = alteracaoRepository;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_LISTA, allEntries = true)
+    })
     public Categoria salvar(Categoria categoria) {
-        return categoriaRepository.save(categoria);
+        Categoria categoriaSalva = transactionTemplate.execute(status -> {
+            Categoria salva = categoriaRepository.saveAndFlush(categoria);
+            alteracaoRepository.marcarPendentes(TipoAlteracao.CATEGORIA, List.of(salva.getId()));
+            return salva;
+        });
+        eventos.publishEvent(new CategoriaSalvaEvent(categoriaSalva));
+        return categoriaSalva;
     }
 
-    public List<Categoria> listar() {
-        return categoriaRepository.findAll();
+    @Cacheable(CacheConfig.CATEGORIAS_LISTA)
+    public List<CategoriaResposta> listar() {
+        return catalogoEmMemoria.snapshot()
+                .map(SnapshotCatalogo::categorias)
+                .orElseGet(categoriaRepository::listarRespostas);
     }
 
-    public Optional<Categoria> buscarPorId(Long id) {
-        return categoriaRepository.findById(id);
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS, key = "#id", unless = "#result == null")
+    public Optional<CategoriaResposta> buscarPorId(Long id) {
+        return categoriaRepository.findById(id).map(CategoriaResposta::de);
+    }
+
+    public Categoria referencia(CategoriaResposta categoria) {
+        return categoriaRepository.getReferenceById(categoria.id());
     }
 }
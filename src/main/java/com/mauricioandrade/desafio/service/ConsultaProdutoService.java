@@ -0,0 +1,141 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.ConsultaProperties;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.ProdutosPorIds;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class ConsultaProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ConsultaProperties properties;
+    private final Counter coalescidas;
+    private final ConcurrentMap<Long, CompletableFuture<ProdutoResposta>> emAndamento = new ConcurrentHashMap<>();
+
+    public ConsultaProdutoService(ProdutoRepository produtoRepository,
+                                  ConsultaProperties properties,
+                                  MeterRegistry registro) {
+        this.produtoRepository = produtoRepository;
+        this.properties = properties;
+        this.coalescidas = registro.counter("catalogo.consulta.coalescidas");
+    }
+
+    public Optional<ProdutoResposta> buscarPorId(Long id) {
+        return Optional.ofNullable(resolver(List.of(id)).get(id));
+    }
+
+    public ProdutosPorIds buscarPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos um ID");
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "IDs não podem ser nulos");
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > properties.maximoIds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "No máximo " + properties.maximoIds() + " IDs por consulta");
+        }
+
+        Map<Long, ProdutoResposta> encontrados = resolver(distintos);
+        List<ProdutoResposta> itens = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            ProdutoResposta produto = encontrados.get(id);
+            if (produto == null) {
+                naoEncontrados.add(id);
+            } else {
+                itens.add(produto);
+            }
+        }
+        return new ProdutosPorIds(itens, naoEncontrados);
+    }
+
+    @EventListener
+    public void produtosSalvos(ProdutosSalvosEvent event) {
+        for (Produto produto : event.produtos()) {
+            emAndamento.remove(produto.getId());
+        }
+    }
+
+    private Map<Long, ProdutoResposta> resolver(Collection<Long> ids) {
+        Map<Long, CompletableFuture<ProdutoResposta>> pendentes = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<ProdutoResposta>> proprios = new LinkedHashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<ProdutoResposta> novo = new CompletableFuture<>();
+            CompletableFuture<ProdutoResposta> existente = emAndamento.putIfAbsent(id, novo);
+            if (existente == null) {
+                proprios.put(id, novo);
+                pendentes.put(id, novo);
+            } else {
+                coalescidas.increment();
+                pendentes.put(id, existente);
+            }
+        }
+        if (!proprios.isEmpty()) {
+            carregar(proprios);
+        }
+
+        Map<Long, ProdutoResposta> resultado = new HashMap<>();
+        pendentes.forEach((id, futuro) -> {
+            ProdutoResposta produto = aguardar(futuro);
+            if (produto != null) {
+                resultado.put(id, produto);
+            }
+        });
+        return resultado;
+    }
+
+    private void carregar(Map<Long, CompletableFuture<ProdutoResposta>> proprios) {
+        List<Long> ids = new ArrayList<>(proprios.keySet());
+        try {
+            for (int i = 0; i < ids.size(); i += properties.tamanhoLote()) {
+                List<Long> lote = ids.subList(i, Math.min(i + properties.tamanhoLote(), ids.size()));
+                for (ProdutoResposta produto : produtoRepository.listarPorIds(lote)) {
+                    proprios.get(produto.id()).complete(produto);
+                }
+                for (Long id : lote) {
+                    proprios.get(id).complete(null);
+                }
+            }
+        } catch (RuntimeException e) {
+            proprios.values().forEach(futuro -> futuro.completeExceptionally(e));
+            throw e;
+        } finally {
+            proprios.forEach(emAndamento::remove);
+        }
+    }
+
+    private static ProdutoResposta aguardar(CompletableFuture<ProdutoResposta> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
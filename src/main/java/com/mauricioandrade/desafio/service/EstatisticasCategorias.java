@@ -0,0 +1,207 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.EstatisticasCategoria;
+import com.mauricioandrade.desafio.dto.ResumoCategoria;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+@Service
+public class EstatisticasCategorias {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasCategorias.class);
+
+    private final CategoriaRepository categoriaRepository;
+
+    private volatile ConcurrentSkipListMap<Long, ResumoCategoria> resumos = new ConcurrentSkipListMap<>();
+    private volatile boolean desatualizado = true;
+
+    private final ReentrantReadWriteLock escritas = new ReentrantReadWriteLock();
+    private final AtomicLong sequencias = new AtomicLong();
+    private final ThreadLocal<Long> emAberto = new ThreadLocal<>();
+    private final TreeMap<Long, ProdutosSalvosEvent> fila = new TreeMap<>();
+    private long proxima = 1;
+
+    public EstatisticasCategorias(CategoriaRepository categoriaRepository) {
+        this.categoriaRepository = categoriaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        escritas.writeLock().lock();
+        try {
+            synchronized (this) {
+                reconstruir();
+            }
+        } finally {
+            escritas.writeLock().unlock();
+        }
+    }
+
+    public <T> T contabilizar(Supplier<T> escrita) {
+        escritas.readLock().lock();
+        try {
+            return escrita.get();
+        } finally {
+            Long sequencia = emAberto.get();
+            if (sequencia != null) {
+                emAberto.remove();
+                desatualizado = true;
+                descartar(sequencia);
+            }
+            escritas.readLock().unlock();
+        }
+    }
+
+    public long sequenciar() {
+        long sequencia = sequencias.incrementAndGet();
+        emAberto.set(sequencia);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    emAberto.remove();
+                    descartar(sequencia);
+                }
+            }
+        });
+        return sequencia;
+    }
+
+    private void reconstruir() {
+        long inicio = System.nanoTime();
+        ConcurrentSkipListMap<Long, ResumoCategoria> novos = new ConcurrentSkipListMap<>();
+        for (ResumoCategoria resumo : categoriaRepository.resumir()) {
+            novos.put(resumo.categoriaId(), resumo);
+        }
+        resumos = novos;
+        desatualizado = false;
+        log.info("Estatísticas por categoria construídas: {} categorias em {} ms",
+                novos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void categoriaSalva(CategoriaSalvaEvent event) {
+        Categoria categoria = event.categoria();
+        resumos.compute(categoria.getId(), (id, atual) -> atual == null
+                ? ResumoCategoria.vazio(id, categoria.getNome())
+                : atual.comNome(categoria.getNome()));
+    }
+
+    @EventListener
+    public synchronized void produtosSalvos(ProdutosSalvosEvent event) {
+        if (event.sequencia() == 0) {
+            aplicar(event);
+            return;
+        }
+        if (Long.valueOf(event.sequencia()).equals(emAberto.get())) {
+            emAberto.remove();
+        }
+        fila.put(event.sequencia(), event);
+        drenar();
+    }
+
+    private synchronized void descartar(long sequencia) {
+        fila.put(sequencia, null);
+        drenar();
+    }
+
+    private void drenar() {
+        while (!fila.isEmpty() && fila.firstKey() == proxima) {
+            ProdutosSalvosEvent pronto = fila.pollFirstEntry().getValue();
+            if (pronto != null) {
+                aplicar(pronto);
+            }
+            proxima++;
+        }
+    }
+
+    private void aplicar(ProdutosSalvosEvent event) {
+        if (event.anteriores() == null) {
+            desatualizado = true;
+            return;
+        }
+        Map<Long, Produto> salvos = new LinkedHashMap<>();
+        for (Produto produto : event.produtos()) {
+            if (produto.getCategoria() != null && produto.getCategoria().getId() != null) {
+                salvos.put(produto.getId(), produto);
+            }
+        }
+        Map<Long, ResumoCategoria> alterados = new HashMap<>();
+        Set<Long> semExtremos = new HashSet<>();
+        for (Map.Entry<Long, Produto> salvo : salvos.entrySet()) {
+            EstadoProduto anterior = event.anteriores().get(salvo.getKey());
+            if (anterior != null && anterior.categoriaId() != null) {
+                ResumoCategoria base = resumoAtual(alterados, anterior.categoriaId());
+                if (base.extremo(anterior.preco())) {
+                    semExtremos.add(anterior.categoriaId());
+                }
+                alterados.put(anterior.categoriaId(), base.menos(anterior.preco()));
+            }
+            Produto produto = salvo.getValue();
+            Long categoriaId = produto.getCategoria().getId();
+            alterados.put(categoriaId, resumoAtual(alterados, categoriaId).mais(produto.getPreco()));
+        }
+        for (Long categoriaId : semExtremos) {
+            ResumoCategoria atual = alterados.get(categoriaId);
+            alterados.put(categoriaId, categoriaRepository.resumir(categoriaId)
+                    .map(banco -> atual.comExtremos(banco.precoMinimo(), banco.precoMaximo()))
+                    .orElse(atual));
+        }
+        resumos.putAll(alterados);
+    }
+
+    public List<EstatisticasCategoria> listar() {
+        atualizarSeNecessario();
+        return resumos.values().stream()
+                .map(ResumoCategoria::estatisticas)
+                .toList();
+    }
+
+    public Optional<EstatisticasCategoria> buscarPorCategoria(Long categoriaId) {
+        atualizarSeNecessario();
+        return Optional.ofNullable(resumos.get(categoriaId))
+                .map(ResumoCategoria::estatisticas);
+    }
+
+    private ResumoCategoria resumoAtual(Map<Long, ResumoCategoria> alterados, Long categoriaId) {
+        ResumoCategoria alterado = alterados.get(categoriaId);
+        return alterado != null ? alterado : resumos.getOrDefault(categoriaId, ResumoCategoria.vazio(categoriaId, null));
+    }
+
+    private void atualizarSeNecessario() {
+        if (desatualizado) {
+            escritas.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (desatualizado) {
+                        reconstruir();
+                    }
+                }
+            } finally {
+                escritas.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportacaoProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final ObjectWriter escritor;
+
+    public ExportacaoProdutoService(ProdutoRepository produtoRepository, ObjectMapper objectMapper) {
+        this.produtoRepository = produtoRepository;
+        this.escritor = objectMapper.writerFor(ProdutoResposta.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida) throws IOException {
+        long exportados = 0;
+        try (Stream<ProdutoResposta> produtos = produtoRepository.streamTodos()) {
+            Iterator<ProdutoResposta> iterator = produtos.iterator();
+            while (iterator.hasNext()) {
+                saida.write(escritor.writeValueAsBytes(iterator.next()));
+                saida.write('\n');
+                exportados++;
+            }
+        }
+        return exportados;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mauricioandrade.desafio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mauricioandrade.desafio.config.FragmentosJsonProperties;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Produto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class FragmentosJson {
+
+    private static final byte[] INICIO_PAGINA = "{\"itens\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIM_ITENS = "],\"proximo\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULO = "null".getBytes(StandardCharsets.UTF_8);
+    private static final int TAMANHO_ESTIMADO_PRODUTO = 160;
+
+    private final ProdutoService produtoService;
+    private final VersaoCatalogo versaoCatalogo;
+    private final FragmentosJsonProperties properties;
+    private final ObjectWriter escritorProduto;
+    private final ObjectWriter escritorCursor;
+    private final Cache<Long, Fragmento> produtos;
+    private final Cache<ChavePagina, byte[]> paginas;
+
+    public FragmentosJson(ProdutoService produtoService,
+                          VersaoCatalogo versaoCatalogo,
+                          FragmentosJsonProperties properties,
+                          ObjectMapper objectMapper,
+                          MeterRegistry registro) {
+        this.produtoService = produtoService;
+        this.versaoCatalogo = versaoCatalogo;
+        this.properties = properties;
+        this.escritorProduto = objectMapper.writerFor(ProdutoResposta.class);
+        this.escritorCursor = objectMapper.writerFor(String.class);
+        this.produtos = Caffeine.newBuilder()
+                .maximumSize(properties.maximoProdutos())
+                .recordStats()
+                .build();
+        this.paginas = Caffeine.newBuilder()
+                .maximumWeight(properties.maximoPaginas().toBytes())
+                .<ChavePagina, byte[]>weigher((chave, json) -> json.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registro, produtos, "catalogo.json.produtos");
+        CaffeineCacheMetrics.monitor(registro, paginas, "catalogo.json.paginas");
+    }
+
+    public boolean habilitado() {
+        return properties.habilitado();
+    }
+
+    public byte[] listar(FiltroProdutos filtro, String cursor, Integer limite) {
+        ChavePagina chave = new ChavePagina(versaoCatalogo.etagProdutos(), filtro, cursor, limite);
+        return paginas.get(chave, c -> serializar(produtoService.listar(filtro, cursor, limite)));
+    }
+
+    public byte[] serializar(Pagina<ProdutoResposta> pagina) {
+        List<byte[]> itens = new ArrayList<>(pagina.itens().size());
+        int tamanho = INICIO_PAGINA.length + FIM_ITENS.length + 1;
+        for (ProdutoResposta produto : pagina.itens()) {
+            byte[] json = fragmento(produto);
+            itens.add(json);
+            tamanho += json.length + 1;
+        }
+        byte[] proximo = pagina.proximo() == null ? NULO : escritorCursor.writeValueAsBytes(pagina.proximo());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(tamanho + proximo.length);
+        saida.writeBytes(INICIO_PAGINA);
+        for (int i = 0; i < itens.size(); i++) {
+            if (i > 0) {
+                saida.write(',');
+            }
+            saida.writeBytes(itens.get(i));
+        }
+        saida.writeBytes(FIM_ITENS);
+        saida.writeBytes(proximo);
+        saida.write('}');
+        return saida.toByteArray();
+    }
+
+    @EventListener
+    public void produtosSalvos(ProdutosSalvosEvent event) {
+        List<Long> ids = new ArrayList<>(event.produtos().size());
+        for (Produto produto : event.produtos()) {
+            ids.add(produto.getId());
+        }
+        produtos.invalidateAll(ids);
+        paginas.invalidateAll();
+    }
+
+    @EventListener
+    public void categoriaSalva(CategoriaSalvaEvent event) {
+        paginas.invalidateAll();
+    }
+
+    private byte[] fragmento(ProdutoResposta produto) {
+        Fragmento atual = produtos.getIfPresent(produto.id());
+        if (atual != null && atual.corresponde(produto)) {
+            return atual.json();
+        }
+        byte[] json = escritorProduto.writeValueAsBytes(produto);
+        produtos.put(produto.id(), new Fragmento(produto.versao(), produto.categoria().id(),
+                produto.categoria().nome(), json));
+        return json;
+    }
+
+    private record ChavePagina(String versao, FiltroProdutos filtro, String cursor, Integer limite) {
+    }
+
+    private record Fragmento(Long versao, Long categoriaId, String categoriaNome, byte[] json) {
+
+        boolean corresponde(ProdutoResposta produto) {
+            return Objects.equals(versao, produto.versao())
+                    && Objects.equals(categoriaId, produto.categoria().id())
+                    && Objects.equals(categoriaNome, produto.categoria().nome());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.ProdutoImportacao;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class GravadorProdutos {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventos;
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final EstatisticasCategorias estatisticasCategorias;
+
+    public GravadorProdutos(EntityManager entityManager,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventos,
+                            AlteracaoCatalogoRepository alteracaoRepository,
+                            EstatisticasCategorias estatisticasCategorias) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventos = eventos;
+        this.alteracaoRepository = alteracaoRepository;
+        this.estatisticasCategorias = estatisticasCategorias;
+    }
+
+    public List<Produto> gravar(List<ProdutoImportacao> itens) {
+        return estatisticasCategorias.contabilizar(() -> inserir(itens));
+    }
+
+    private List<Produto> inserir(List<ProdutoImportacao> itens) {
+        List<Produto> produtos = new ArrayList<>(itens.size());
+        long sequencia = transactionTemplate.execute(status -> {
+            for (ProdutoImportacao item : itens) {
+                Categoria categoria = entityManager.getReference(Categoria.class, item.categoriaId());
+                Produto produto = new Produto(null, item.nome(), item.preco(), categoria);
+                entityManager.persist(produto);
+                produtos.add(produto);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            alteracaoRepository.marcarPendentes(TipoAlteracao.PRODUTO,
+                    produtos.stream().map(Produto::getId).toList());
+            return estatisticasCategorias.sequenciar();
+        });
+        eventos.publishEvent(new ProdutosSalvosEvent(produtos, true, Map.of(), sequencia));
+        return produtos;
+    }
+}
@@ -0,0 +1,171 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.ImportacaoProperties;
+import com.mauricioandrade.desafio.dto.ErroImportacao;
+import com.mauricioandrade.desafio.dto.ProdutoImportacao;
+import com.mauricioandrade.desafio.dto.ResultadoImportacao;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ImportacaoProdutoService {
+
+    private final ObjectReader leitor;
+    private final ObjectReader leitorArvore;
+    private final CategoriaRepository categoriaRepository;
+    private final GravadorProdutos gravador;
+    private final ImportacaoProperties properties;
+
+    public ImportacaoProdutoService(ObjectMapper objectMapper,
+                                    CategoriaRepository categoriaRepository,
+                                    GravadorProdutos gravador,
+                                    ImportacaoProperties properties) {
+        this.leitor = objectMapper.readerFor(ProdutoImportacao.class);
+        this.leitorArvore = objectMapper.readerFor(JsonNode.class);
+        this.categoriaRepository = categoriaRepository;
+        this.gravador = gravador;
+        this.properties = properties;
+    }
+
+    public ResultadoImportacao importarJson(InputStream entrada) {
+        Importacao importacao = new Importacao();
+        long posicao = 0;
+        try {
+            MappingIterator<JsonNode> itens = leitorArvore.readValues(entrada);
+            while (itens.hasNext()) {
+                posicao++;
+                JsonNode no = itens.next();
+                ProdutoImportacao item;
+                try {
+                    item = leitor.readValue(no);
+                } catch (JacksonException e) {
+                    importacao.invalido(posicao, "Item inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                importacao.adicionar(posicao, item);
+            }
+        } catch (JacksonException e) {
+            importacao.invalido(posicao, "JSON inválido, importação interrompida: " + e.getOriginalMessage());
+        }
+        return importacao.concluir();
+    }
+
+    public ResultadoImportacao importarNdjson(InputStream entrada) {
+        Importacao importacao = new Importacao();
+        BufferedReader linhas = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        long posicao = 0;
+        try {
+            String linha;
+            while ((linha = linhas.readLine()) != null) {
+                posicao++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                ProdutoImportacao item;
+                try {
+                    item = leitor.readValue(linha);
+                } catch (JacksonException e) {
+                    importacao.invalido(posicao, "JSON inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                importacao.adicionar(posicao, item);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importacao.concluir();
+    }
+
+    private String validar(ProdutoImportacao item, Map<Long, Boolean> categorias) {
+        if (item == null) {
+            return "Item vazio";
+        }
+        String erro = item.validar();
+        if (erro != null) {
+            return erro;
+        }
+        if (!categorias.computeIfAbsent(item.categoriaId(), categoriaRepository::existsById)) {
+            return "Categoria " + item.categoriaId() + " não encontrada";
+        }
+        return null;
+    }
+
+    private record Linha(long posicao, ProdutoImportacao item) {
+    }
+
+    private final class Importacao {
+
+        private final Map<Long, Boolean> categorias = new HashMap<>();
+        private final List<Linha> lote = new ArrayList<>(properties.tamanhoLote());
+        private final List<ErroImportacao> erros = new ArrayList<>();
+        private long recebidos;
+        private long importados;
+        private long rejeitados;
+
+        void adicionar(long posicao, ProdutoImportacao item) {
+            recebidos++;
+            String erro = validar(item, categorias);
+            if (erro != null) {
+                rejeitar(posicao, erro);
+                return;
+            }
+            lote.add(new Linha(posicao, item));
+            if (lote.size() >= properties.tamanhoLote()) {
+                gravarLote();
+            }
+        }
+
+        void invalido(long posicao, String mensagem) {
+            recebidos++;
+            rejeitar(posicao, mensagem);
+        }
+
+        ResultadoImportacao concluir() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+            return new ResultadoImportacao(recebidos, importados, rejeitados, erros);
+        }
+
+        private void gravarLote() {
+            try {
+                gravador.gravar(lote.stream().map(Linha::item).toList());
+                importados += lote.size();
+            } catch (RuntimeException falhaDoLote) {
+                for (Linha linha : lote) {
+                    try {
+                        gravador.gravar(List.of(linha.item()));
+                        importados++;
+                    } catch (RuntimeException e) {
+                        rejeitar(linha.posicao(), "Falha ao gravar o produto: " + e.getMessage());
+                    }
+                }
+            } finally {
+                lote.clear();
+            }
+        }
+
+        private void rejeitar(long posicao, String mensagem) {
+            rejeitados++;
+            if (erros.size() < properties.maximoErros()) {
+                erros.add(new ErroImportacao(posicao, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.ProdutoNome;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Component
+public class IndiceBuscaProdutos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaProdutos.class);
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] VAZIO = new long[0];
+
+    private final ProdutoRepository produtoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentSkipListMap<String, long[]> ocorrencias = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, String[]> entradas = new ConcurrentHashMap<>();
+
+    public IndiceBuscaProdutos(ProdutoRepository produtoRepository, TransactionTemplate transactionTemplate) {
+        this.produtoRepository = produtoRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construir() {
+        long inicio = System.nanoTime();
+        Map<String, Ids> acumulado = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProdutoNome> produtos = produtoRepository.streamNomes()) {
+                produtos.forEach(produto -> {
+                    String[] entrada = entrada(produto.nome());
+                    if (entradas.putIfAbsent(produto.id(), entrada) == null) {
+                        for (String termo : entrada) {
+                            acumulado.computeIfAbsent(termo, t -> new Ids()).adicionar(produto.id());
+                        }
+                    }
+                });
+            }
+        });
+        synchronized (this) {
+            acumulado.forEach((termo, ids) -> ocorrencias.merge(termo, ids.ordenados(), IndiceBuscaProdutos::unir));
+        }
+        log.info("Índice de busca construído: {} produtos, {} termos em {} ms",
+                entradas.size(), ocorrencias.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void produtosSalvos(ProdutosSalvosEvent event) {
+        Map<Long, String[]> novas = new LinkedHashMap<>();
+        Map<String, Ids> adicionar = new HashMap<>();
+        for (Produto produto : event.produtos()) {
+            String[] entrada = entrada(produto.getNome());
+            novas.put(produto.getId(), entrada);
+            for (String termo : entrada) {
+                adicionar.computeIfAbsent(termo, t -> new Ids()).adicionar(produto.getId());
+            }
+        }
+        adicionar.forEach((termo, ids) -> ocorrencias.merge(termo, ids.ordenados(), IndiceBuscaProdutos::unir));
+
+        Map<String, Ids> remover = new HashMap<>();
+        novas.forEach((id, entrada) -> {
+            String[] anterior = entradas.put(id, entrada);
+            if (anterior != null) {
+                for (String termo : anterior) {
+                    if (Arrays.binarySearch(entrada, termo) < 0) {
+                        remover.computeIfAbsent(termo, t -> new Ids()).adicionar(id);
+                    }
+                }
+            }
+        });
+        remover.forEach((termo, ids) -> ocorrencias.computeIfPresent(termo, (t, atuais) -> {
+            long[] restantes = subtrair(atuais, ids.ordenados());
+            return restantes.length == 0 ? null : restantes;
+        }));
+    }
+
+    public List<Long> buscar(String consulta, int limite) {
+        String[] termos = new LinkedHashSet<>(termos(normalizar(consulta))).toArray(String[]::new);
+        if (termos.length == 0) {
+            return List.of();
+        }
+        String prefixo = termos[termos.length - 1];
+        String[] exatos = Arrays.copyOf(termos, termos.length - 1);
+
+        List<Percurso> percursos = new ArrayList<>(termos.length);
+        for (String termo : exatos) {
+            long[] ids = ocorrencias.get(termo);
+            if (ids == null) {
+                return List.of();
+            }
+            percursos.add(new Lista(ids));
+        }
+        Collection<long[]> doPrefixo = ocorrencias.subMap(prefixo, true, prefixo + Character.MAX_VALUE, true).values();
+        Uniao uniao = new Uniao(doPrefixo);
+        if (uniao.vazia()) {
+            return List.of();
+        }
+        percursos.add(uniao);
+
+        List<Long> encontrados = new ArrayList<>(Math.min(limite, 64));
+        long alvo = Long.MIN_VALUE;
+        while (encontrados.size() < limite) {
+            boolean alinhados = true;
+            for (Percurso percurso : percursos) {
+                if (!percurso.avancarAte(alvo)) {
+                    return encontrados;
+                }
+                if (percurso.atual() > alvo) {
+                    alvo = percurso.atual();
+                    alinhados = false;
+                }
+            }
+            if (alinhados) {
+                if (corresponde(entradas.get(alvo), exatos, prefixo)) {
+                    encontrados.add(alvo);
+                }
+                alvo++;
+            }
+        }
+        return encontrados;
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> termos(String normalizado) {
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty()) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    private static String[] entrada(String nome) {
+        return new TreeSet<>(termos(normalizar(nome))).toArray(String[]::new);
+    }
+
+    private static boolean corresponde(String[] entrada, String[] exatos, String prefixo) {
+        if (entrada == null) {
+            return false;
+        }
+        for (String termo : exatos) {
+            if (Arrays.binarySearch(entrada, termo) < 0) {
+                return false;
+            }
+        }
+        int posicao = Arrays.binarySearch(entrada, prefixo);
+        if (posicao >= 0) {
+            return true;
+        }
+        int seguinte = -posicao - 1;
+        return seguinte < entrada.length && entrada[seguinte].startsWith(prefixo);
+    }
+
+    private static long[] unir(long[] a, long[] b) {
+        long[] resultado = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            long proximo;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                proximo = a[i++];
+            } else {
+                proximo = b[j++];
+            }
+            if (n == 0 || resultado[n - 1] != proximo) {
+                resultado[n++] = proximo;
+            }
+        }
+        return n == resultado.length ? resultado : Arrays.copyOf(resultado, n);
+    }
+
+    private static long[] subtrair(long[] a, long[] b) {
+        long[] resultado = new long[a.length];
+        int n = 0;
+        for (long id : a) {
+            if (Arrays.binarySearch(b, id) < 0) {
+                resultado[n++] = id;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    private static final class Ids {
+
+        private long[] valores = new long[4];
+        private int tamanho;
+
+        void adicionar(long id) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = id;
+        }
+
+        long[] ordenados() {
+            long[] ids = Arrays.copyOf(valores, tamanho);
+            Arrays.sort(ids);
+            return unir(ids, VAZIO);
+        }
+    }
+
+    private interface Percurso {
+
+        boolean avancarAte(long alvo);
+
+        long atual();
+    }
+
+    private static final class Lista implements Percurso, Comparable<Lista> {
+
+        private final long[] ids;
+        private int posicao;
+
+        Lista(long[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean avancarAte(long alvo) {
+            if (posicao < ids.length && ids[posicao] < alvo) {
+                int encontrada = Arrays.binarySearch(ids, posicao, ids.length, alvo);
+                posicao = encontrada >= 0 ? encontrada : -encontrada - 1;
+            }
+            return posicao < ids.length;
+        }
+
+        @Override
+        public long atual() {
+            return ids[posicao];
+        }
+
+        @Override
+        public int compareTo(Lista outra) {
+            return Long.compare(atual(), outra.atual());
+        }
+    }
+
+    private static final class Uniao implements Percurso {
+
+        private final PriorityQueue<Lista> fila = new PriorityQueue<>();
+
+        Uniao(Collection<long[]> listas) {
+            for (long[] ids : listas) {
+                if (ids.length > 0) {
+                    fila.add(new Lista(ids));
+                }
+            }
+        }
+
+        boolean vazia() {
+            return fila.isEmpty();
+        }
+
+        @Override
+        public boolean avancarAte(long alvo) {
+            while (!fila.isEmpty() && fila.peek().atual() < alvo) {
+                Lista lista = fila.poll();
+                if (lista.avancarAte(alvo)) {
+                    fila.add(lista);
+                }
+            }
+            return !fila.isEmpty();
+        }
+
+        @Override
+        public long atual() {
+            return fila.peek().atual();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.mauricioandrade.desafio.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mauricioandrade.desafio.config.IngestaoProperties;
+import com.mauricioandrade.desafio.dto.ProdutoImportacao;
+import com.mauricioandrade.desafio.dto.StatusIngestao;
+import com.mauricioandrade.desafio.model.Produto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class IngestaoProdutoService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaoProdutoService.class);
+
+    private final GravadorProdutos gravador;
+    private final IngestaoProperties properties;
+    private final BlockingQueue<Pedido> fila;
+    private final ConcurrentMap<UUID, StatusIngestao> pendentes = new ConcurrentHashMap<>();
+    private final Cache<UUID, StatusIngestao> concluidos;
+    private final ReadWriteLock aceitacao = new ReentrantReadWriteLock();
+
+    private volatile boolean aceitando;
+    private volatile boolean executando;
+    private volatile Runnable aoParar;
+
+    public IngestaoProdutoService(GravadorProdutos gravador,
+                                  IngestaoProperties properties,
+                                  MeterRegistry registro) {
+        this.gravador = gravador;
+        this.properties = properties;
+        this.fila = new ArrayBlockingQueue<>(properties.capacidadeFila());
+        this.concluidos = Caffeine.newBuilder()
+                .maximumSize(properties.maximoStatus())
+                .expireAfterWrite(properties.retencaoStatus())
+                .build();
+        Gauge.builder("catalogo.ingestao.fila", fila, BlockingQueue::size)
+                .description("Produtos aguardando gravação na fila de ingestão")
+                .register(registro);
+    }
+
+    public boolean ativa() {
+        return properties.assincrona();
+    }
+
+    public StatusIngestao enfileirar(ProdutoImportacao item) {
+        UUID id = UUID.randomUUID();
+        StatusIngestao pendente = StatusIngestao.pendente(id);
+        aceitacao.readLock().lock();
+        try {
+            if (!aceitando) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Ingestão indisponível");
+            }
+            pendentes.put(id, pendente);
+            if (!fila.offer(new Pedido(id, item))) {
+                pendentes.remove(id);
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Fila de ingestão cheia");
+            }
+        } finally {
+            aceitacao.readLock().unlock();
+        }
+        return pendente;
+    }
+
+    public Optional<StatusIngestao> consultar(UUID id) {
+        StatusIngestao pendente = pendentes.get(id);
+        return pendente != null ? Optional.of(pendente) : Optional.ofNullable(concluidos.getIfPresent(id));
+    }
+
+    @Override
+    public void start() {
+        aceitando = true;
+        executando = true;
+        Thread.ofPlatform().name("ingestao-produtos").start(this::consumir);
+        log.info("Ingestão assíncrona iniciada (capacidade {}, lote {})",
+                properties.capacidadeFila(), properties.tamanhoLote());
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        aoParar = callback;
+        aceitacao.writeLock().lock();
+        try {
+            aceitando = false;
+        } finally {
+            aceitacao.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        stop(() -> {
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.assincrona();
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void consumir() {
+        List<Pedido> lote = new ArrayList<>(properties.tamanhoLote());
+        try {
+            while (aceitando || !fila.isEmpty()) {
+                Pedido primeiro = fila.poll(properties.esperaLote().toMillis(), TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, properties.tamanhoLote() - 1);
+                gravarLote(lote);
+                lote.clear();
+            }
+            log.info("Ingestão assíncrona encerrada com a fila drenada");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Ingestão assíncrona interrompida com {} produtos na fila", fila.size());
+        } finally {
+            executando = false;
+            Runnable callback = aoParar;
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    private void gravarLote(List<Pedido> lote) {
+        try {
+            List<Produto> produtos = gravador.gravar(lote.stream().map(Pedido::item).toList());
+            for (int i = 0; i < lote.size(); i++) {
+                concluir(StatusIngestao.gravado(lote.get(i).id(), produtos.get(i).getId()));
+            }
+        } catch (RuntimeException falhaDoLote) {
+            for (Pedido pedido : lote) {
+                try {
+                    Produto produto = gravador.gravar(List.of(pedido.item())).getFirst();
+                    concluir(StatusIngestao.gravado(pedido.id(), produto.getId()));
+                } catch (RuntimeException e) {
+                    concluir(StatusIngestao.falhou(pedido.id(), "Falha ao gravar o produto: " + e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void concluir(StatusIngestao status) {
+        concluidos.put(status.id(), status);
+        pendentes.remove(status.id());
+    }
+
+    private record Pedido(UUID id, ProdutoImportacao item) {
+    }
+}
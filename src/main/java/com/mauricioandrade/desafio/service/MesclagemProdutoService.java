@@ -0,0 +1,171 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.ImportacaoProperties;
+import com.mauricioandrade.desafio.dto.ErroImportacao;
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoMesclado;
+import com.mauricioandrade.desafio.dto.ProdutoPorSku;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.ResultadoImportacao;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class MesclagemProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportacaoProperties properties;
+    private final ApplicationEventPublisher eventos;
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final EstatisticasCategorias estatisticasCategorias;
+
+    public MesclagemProdutoService(ProdutoRepository produtoRepository,
+                                   CategoriaRepository categoriaRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ImportacaoProperties properties,
+                                   ApplicationEventPublisher eventos,
+                                   AlteracaoCatalogoRepository alteracaoRepository,
+                                   EstatisticasCategorias estatisticasCategorias) {
+        this.produtoRepository = produtoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.eventos = eventos;
+        this.alteracaoRepository = alteracaoRepository;
+        this.estatisticasCategorias = estatisticasCategorias;
+    }
+
+    public ProdutoResposta mesclar(ProdutoPorSku produto) {
+        String erro = produto.validar();
+        if (erro != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+        }
+        if (!categoriaRepository.existsById(produto.categoriaId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Categoria não encontrada");
+        }
+        gravar(List.of(produto));
+        return produtoRepository.buscarPorSku(produto.sku())
+                .orElseThrow(() -> new IllegalStateException("Produto " + produto.sku() + " não encontrado após o MERGE"));
+    }
+
+    public ResultadoImportacao mesclarTodos(List<ProdutoPorSku> produtos) {
+        Mesclagem mesclagem = new Mesclagem();
+        for (int i = 0; i < produtos.size(); i++) {
+            mesclagem.adicionar(i + 1, produtos.get(i));
+        }
+        return mesclagem.concluir();
+    }
+
+    private void gravar(List<ProdutoPorSku> lote) {
+        estatisticasCategorias.contabilizar(() -> mesclarLote(lote));
+    }
+
+    private List<Produto> mesclarLote(List<ProdutoPorSku> lote) {
+        Map<String, ProdutoPorSku> porSku = new LinkedHashMap<>();
+        for (ProdutoPorSku item : lote) {
+            porSku.put(item.sku(), item);
+        }
+        Gravado gravado = transactionTemplate.execute(status -> {
+            List<ProdutoMesclado> mesclados = produtoRepository.mesclarPorSku(porSku.values());
+            alteracaoRepository.marcarPendentes(TipoAlteracao.PRODUTO,
+                    mesclados.stream().map(ProdutoMesclado::id).toList());
+            return new Gravado(mesclados, estatisticasCategorias.sequenciar());
+        });
+        List<Produto> produtos = new ArrayList<>(gravado.mesclados().size());
+        Map<Long, EstadoProduto> anteriores = new HashMap<>();
+        for (ProdutoMesclado mesclado : gravado.mesclados()) {
+            ProdutoPorSku item = porSku.get(mesclado.sku());
+            Produto produto = new Produto(mesclado.id(), item.nome(), item.preco(),
+                    new Categoria(item.categoriaId(), null));
+            produto.setSku(item.sku());
+            produtos.add(produto);
+            if (mesclado.anterior() != null) {
+                anteriores.put(mesclado.id(), mesclado.anterior());
+            }
+        }
+        produtoRepository.descartarCaches(anteriores.keySet());
+        eventos.publishEvent(new ProdutosSalvosEvent(produtos, false, anteriores, gravado.sequencia()));
+        return produtos;
+    }
+
+    private record Gravado(List<ProdutoMesclado> mesclados, long sequencia) {
+    }
+
+    private record Linha(long posicao, ProdutoPorSku produto) {
+    }
+
+    private final class Mesclagem {
+
+        private final Map<Long, Boolean> categorias = new HashMap<>();
+        private final List<Linha> lote = new ArrayList<>(properties.tamanhoLote());
+        private final List<ErroImportacao> erros = new ArrayList<>();
+        private long recebidos;
+        private long aplicados;
+        private long rejeitados;
+
+        void adicionar(long posicao, ProdutoPorSku produto) {
+            recebidos++;
+            String erro = produto == null ? "Item vazio" : produto.validar();
+            if (erro == null && !categorias.computeIfAbsent(produto.categoriaId(), categoriaRepository::existsById)) {
+                erro = "Categoria " + produto.categoriaId() + " não encontrada";
+            }
+            if (erro != null) {
+                rejeitar(posicao, erro);
+                return;
+            }
+            lote.add(new Linha(posicao, produto));
+            if (lote.size() >= properties.tamanhoLote()) {
+                gravarLote();
+            }
+        }
+
+        ResultadoImportacao concluir() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+            return new ResultadoImportacao(recebidos, aplicados, rejeitados, erros);
+        }
+
+        private void gravarLote() {
+            try {
+                gravar(lote.stream().map(Linha::produto).toList());
+                aplicados += lote.size();
+            } catch (RuntimeException falhaDoLote) {
+                for (Linha linha : lote) {
+                    try {
+                        gravar(List.of(linha.produto()));
+                        aplicados++;
+                    } catch (RuntimeException e) {
+                        rejeitar(linha.posicao(), "Falha ao gravar o produto: " + e.getMessage());
+                    }
+                }
+            } finally {
+                lote.clear();
+            }
+        }
+
+        private void rejeitar(long posicao, String mensagem) {
+            rejeitados++;
+            if (erros.size() < properties.maximoErros()) {
+                erros.add(new ErroImportacao(posicao, mensagem));
+            }
+        }
+    }
+}
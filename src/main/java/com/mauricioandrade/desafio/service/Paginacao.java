@@ -0,0 +1,56 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.config.PaginacaoProperties;
+import com.mauricioandrade.desafio.dto.Pagina;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class Paginacao {
+
+    private final PaginacaoProperties properties;
+
+    public Paginacao(PaginacaoProperties properties) {
+        this.properties = properties;
+    }
+
+    public int limite(Integer limite) {
+        if (limite == null) {
+            return properties.limitePadrao();
+        }
+        if (limite < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve ser maior que zero");
+        }
+        return Math.min(limite, properties.limiteMaximo());
+    }
+
+    public String decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    public String codificar(String chave) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T> Pagina<T> montar(List<T> resultado, int limite, Function<T, String> chave) {
+        if (resultado.size() <= limite) {
+            return new Pagina<>(resultado, null);
+        }
+        List<T> itens = resultado.subList(0, limite);
+        return new Pagina<>(itens, codificar(chave.apply(itens.get(limite - 1))));
+    }
+}
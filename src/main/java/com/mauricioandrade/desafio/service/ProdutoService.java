@@ -1,30 +1,127 @@
 package com.mauricioandrade.desafio.service;
 
 
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
 import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
 import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final Paginacao paginacao;
+    private final ApplicationEventPublisher eventos;
+    private final IndiceBuscaProdutos indiceBusca;
+    private final CatalogoEmMemoria catalogoEmMemoria;
+    private final AlteracaoCatalogoRepository alteracaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EstatisticasCategorias estatisticasCategorias;
 
-    public ProdutoService(ProdutoRepository produtoRepository) {
+    public ProdutoService(ProdutoRepository produtoRepository,
+                          Paginacao paginacao,
+                          ApplicationEventPublisher eventos,
+                          IndiceBuscaProdutos indiceBusca,
+                          CatalogoEmMemoria catalogoEmMemoria,
+                          AlteracaoCatalogoRepository alteracaoRepository,
+                          TransactionTemplate transactionTemplate,
+                          EstatisticasCategorias estatisticasCategorias) {
         this.produtoRepository = produtoRepository;
+        this.paginacao = paginacao;
+        this.eventos = eventos;
+        this.indiceBusca = indiceBusca;
+        this.catalogoEmMemoria = catalogoEmMemoria;
+        this.alteracaoRepository = alteracaoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.estatisticasCategorias = estatisticasCategorias;
     }
 
     public Produto salvar(Produto produto) {
-        return produtoRepository.save(produto);
+        return estatisticasCategorias.contabilizar(() -> gravar(produto));
     }
 
-    public List<Produto> listar() {
-        return produtoRepository.findAll();
+    private Produto gravar(Produto produto) {
+        boolean novo = produto.getId() == null;
+        Gravado gravado;
+        try {
+            gravado = transactionTemplate.execute(status -> {
+                Map<Long, EstadoProduto> anteriores = novo ? Map.of()
+                        : produtoRepository.travarEstado(produto.getId())
+                                .map(anterior -> Map.of(anterior.id(), anterior))
+                                .orElseGet(Map::of);
+                Produto salvo = produtoRepository.saveAndFlush(produto);
+                alteracaoRepository.marcarPendentes(TipoAlteracao.PRODUTO, List.of(salvo.getId()));
+                return new Gravado(salvo, anteriores, estatisticasCategorias.sequenciar());
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (produto.getSku() == null) {
+                throw e;
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "SKU " + produto.getSku() + " já cadastrado; use PUT /produtos/by-sku/{sku}");
+        }
+        eventos.publishEvent(new ProdutosSalvosEvent(List.of(gravado.produto()), novo, gravado.anteriores(),
+                gravado.sequencia()));
+        return gravado.produto();
     }
 
-    public List<Produto> listarPorCategoria(Long categoriaId) {
-        return produtoRepository.findByCategoriaId(categoriaId);
+    public Pagina<ProdutoResposta> listar(FiltroProdutos filtro, String cursor, Integer limite) {
+        OrdenacaoProduto ordenacao = filtro.ordenacao();
+        CursorProduto apos = validar(filtro, cursor);
+        int tamanho = paginacao.limite(limite);
+        List<ProdutoResposta> produtos = catalogoEmMemoria.snapshot()
+                .map(snapshot -> snapshot.listar(filtro, apos, tamanho + 1))
+                .orElseGet(() -> produtoRepository.listar(filtro, apos, tamanho + 1));
+        return paginacao.montar(produtos, tamanho, produto -> CursorProduto.apos(produto).chave(ordenacao));
+    }
+
+    public Pagina<ProdutoResposta> listarPorCategoria(Long categoriaId, String cursor, Integer limite) {
+        return listar(FiltroProdutos.daCategoria(categoriaId), cursor, limite);
+    }
+
+    public List<ProdutoResposta> buscar(String consulta, Integer limite) {
+        List<Long> ids = indiceBusca.buscar(consulta, paginacao.limite(limite));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return produtoRepository.listarPorIds(ids);
+    }
+
+    public CursorProduto validar(FiltroProdutos filtro, String cursor) {
+        if (filtro.precoMinimo() != null && filtro.precoMaximo() != null
+                && filtro.precoMinimo().compareTo(filtro.precoMaximo()) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPreco não pode ser maior que maxPreco");
+        }
+        return lerCursor(cursor, filtro.ordenacao());
+    }
+
+    private record Gravado(Produto produto, Map<Long, EstadoProduto> anteriores, long sequencia) {
+    }
+
+    private CursorProduto lerCursor(String cursor, OrdenacaoProduto ordenacao) {
+        String chave = paginacao.decodificar(cursor);
+        if (chave == null) {
+            return null;
+        }
+        try {
+            return CursorProduto.ler(chave, ordenacao);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
     }
 }
@@ -0,0 +1,11 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.EstadoProduto;
+import com.mauricioandrade.desafio.model.Produto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProdutosSalvosEvent(List<Produto> produtos, boolean novos, Map<Long, EstadoProduto> anteriores,
+                                  long sequencia) {
+}
@@ -0,0 +1,543 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+public final class SnapshotCatalogo {
+
+    private static final long SEM_PRECO = Long.MIN_VALUE;
+
+    private final long[] categoriaIds;
+    private final Bloco[] blocos;
+    private final long quantidadeProdutos;
+
+    private SnapshotCatalogo(long[] categoriaIds, Bloco[] blocos) {
+        this.categoriaIds = categoriaIds;
+        this.blocos = blocos;
+        long quantidade = 0;
+        for (Bloco bloco : blocos) {
+            quantidade += bloco.ids.length;
+        }
+        this.quantidadeProdutos = quantidade;
+    }
+
+    public static SnapshotCatalogo vazio() {
+        return new SnapshotCatalogo(new long[0], new Bloco[0]);
+    }
+
+    public static Construtor construtor() {
+        return new Construtor();
+    }
+
+    public long quantidadeProdutos() {
+        return quantidadeProdutos;
+    }
+
+    public List<CategoriaResposta> categorias() {
+        List<CategoriaResposta> categorias = new ArrayList<>(blocos.length);
+        for (Bloco bloco : blocos) {
+            categorias.add(bloco.categoria);
+        }
+        return categorias;
+    }
+
+    public boolean contemCategoria(long categoriaId) {
+        return Arrays.binarySearch(categoriaIds, categoriaId) >= 0;
+    }
+
+    public List<ProdutoResposta> listar(FiltroProdutos filtro, CursorProduto apos, int limite) {
+        List<Percurso> percursos = new ArrayList<>();
+        if (filtro.categoriaId() != null) {
+            int indice = Arrays.binarySearch(categoriaIds, filtro.categoriaId());
+            if (indice >= 0) {
+                percursos.add(new Percurso(blocos[indice], filtro, apos));
+            }
+        } else {
+            for (Bloco bloco : blocos) {
+                percursos.add(new Percurso(bloco, filtro, apos));
+            }
+        }
+
+        List<ProdutoResposta> produtos = new ArrayList<>(Math.min(limite, 1024));
+        if (percursos.size() == 1) {
+            Percurso percurso = percursos.getFirst();
+            while (produtos.size() < limite && percurso.avancar()) {
+                produtos.add(percurso.produto());
+            }
+            return produtos;
+        }
+
+        PriorityQueue<Percurso> fila = new PriorityQueue<>(Math.max(percursos.size(), 1),
+                comparador(filtro.ordenacao()));
+        for (Percurso percurso : percursos) {
+            if (percurso.avancar()) {
+                fila.add(percurso);
+            }
+        }
+        while (produtos.size() < limite && !fila.isEmpty()) {
+            Percurso percurso = fila.poll();
+            produtos.add(percurso.produto());
+            if (percurso.avancar()) {
+                fila.add(percurso);
+            }
+        }
+        return produtos;
+    }
+
+    public SnapshotCatalogo comCategoria(long id, String nome) {
+        int indice = Arrays.binarySearch(categoriaIds, id);
+        if (indice >= 0) {
+            Bloco[] novos = blocos.clone();
+            novos[indice] = blocos[indice].renomeado(nome);
+            return new SnapshotCatalogo(categoriaIds, novos);
+        }
+        int insercao = -indice - 1;
+        long[] novosIds = new long[categoriaIds.length + 1];
+        Bloco[] novos = new Bloco[blocos.length + 1];
+        System.arraycopy(categoriaIds, 0, novosIds, 0, insercao);
+        System.arraycopy(blocos, 0, novos, 0, insercao);
+        novosIds[insercao] = id;
+        novos[insercao] = Bloco.vazio(id, nome);
+        System.arraycopy(categoriaIds, insercao, novosIds, insercao + 1, categoriaIds.length - insercao);
+        System.arraycopy(blocos, insercao, novos, insercao + 1, blocos.length - insercao);
+        return new SnapshotCatalogo(novosIds, novos);
+    }
+
+    public SnapshotCatalogo comProdutos(Collection<ProdutoResposta> produtos) {
+        Map<Long, ProdutoResposta> recentes = new HashMap<>();
+        for (ProdutoResposta produto : produtos) {
+            recentes.merge(produto.id(), produto, (atual, novo) -> versao(novo) >= versao(atual) ? novo : atual);
+        }
+
+        SnapshotCatalogo base = this;
+        Map<Long, List<ProdutoResposta>> entradas = new TreeMap<>();
+        Map<Long, List<Long>> saidas = new TreeMap<>();
+        for (ProdutoResposta produto : recentes.values()) {
+            long categoriaId = produto.categoria().id();
+            boolean obsoleto = false;
+            for (Bloco bloco : blocos) {
+                int posicao = Arrays.binarySearch(bloco.ids, produto.id());
+                if (posicao < 0) {
+                    continue;
+                }
+                if (bloco.versoes[posicao] > versao(produto)) {
+                    obsoleto = true;
+                } else if (bloco.categoria.id() != categoriaId) {
+                    saidas.computeIfAbsent(bloco.categoria.id(), id -> new ArrayList<>()).add(produto.id());
+                }
+                break;
+            }
+            if (obsoleto) {
+                continue;
+            }
+            if (!base.contemCategoria(categoriaId)) {
+                base = base.comCategoria(categoriaId, produto.categoria().nome());
+            }
+            entradas.computeIfAbsent(categoriaId, id -> new ArrayList<>()).add(produto);
+        }
+        if (entradas.isEmpty() && saidas.isEmpty()) {
+            return this;
+        }
+
+        Bloco[] novos = base.blocos.clone();
+        for (int i = 0; i < novos.length; i++) {
+            long categoriaId = base.categoriaIds[i];
+            List<ProdutoResposta> entrando = entradas.getOrDefault(categoriaId, List.of());
+            List<Long> saindo = saidas.getOrDefault(categoriaId, List.of());
+            if (!entrando.isEmpty() || !saindo.isEmpty()) {
+                novos[i] = novos[i].com(entrando, saindo);
+            }
+        }
+        return new SnapshotCatalogo(base.categoriaIds, novos);
+    }
+
+    private static Comparator<Percurso> comparador(OrdenacaoProduto ordenacao) {
+        Comparator<Percurso> porId = Comparator.comparingLong(Percurso::idAtual);
+        return switch (ordenacao) {
+            case ID -> porId;
+            case PRECO -> Comparator.comparingLong(Percurso::centavosAtuais).thenComparing(porId);
+            case PRECO_DESC -> Comparator.comparingLong(Percurso::centavosAtuais).thenComparing(porId).reversed();
+        };
+    }
+
+    private static long versao(ProdutoResposta produto) {
+        return produto.versao() == null ? 0 : produto.versao();
+    }
+
+    private static long centavos(BigDecimal preco) {
+        if (preco == null) {
+            return SEM_PRECO;
+        }
+        BigInteger valor = preco.setScale(2, RoundingMode.HALF_EVEN).unscaledValue();
+        if (valor.bitLength() >= Long.SIZE || valor.longValue() == SEM_PRECO) {
+            throw new ArithmeticException("Preço " + preco + " fora da faixa suportada pelo snapshot");
+        }
+        return valor.longValue();
+    }
+
+    private static long centavosCursor(BigDecimal preco) {
+        return preco == null ? SEM_PRECO : limite(preco, RoundingMode.HALF_EVEN);
+    }
+
+    private static long limite(BigDecimal preco, RoundingMode arredondamento) {
+        BigInteger valor = preco.setScale(2, arredondamento).unscaledValue();
+        if (valor.bitLength() < Long.SIZE) {
+            return Math.max(valor.longValue(), SEM_PRECO + 1);
+        }
+        return valor.signum() > 0 ? Long.MAX_VALUE : SEM_PRECO + 1;
+    }
+
+    private static BigDecimal preco(long centavos) {
+        return centavos == SEM_PRECO ? null : BigDecimal.valueOf(centavos, 2);
+    }
+
+    private static String internar(String texto) {
+        return texto == null ? null : texto.intern();
+    }
+
+    private static void ordenarPorPreco(int[] posicoes, int quantidade, long[] centavos) {
+        int[] origem = posicoes;
+        int[] destino = new int[quantidade];
+        for (int largura = 1; largura < quantidade; largura *= 2) {
+            for (int inicio = 0; inicio < quantidade; inicio += 2 * largura) {
+                int meio = Math.min(inicio + largura, quantidade);
+                int fim = Math.min(inicio + 2 * largura, quantidade);
+                intercalar(origem, inicio, meio, origem, meio, fim, destino, inicio, centavos);
+            }
+            int[] troca = origem;
+            origem = destino;
+            destino = troca;
+        }
+        if (origem != posicoes) {
+            System.arraycopy(origem, 0, posicoes, 0, quantidade);
+        }
+    }
+
+    private static void intercalar(int[] a, int deA, int ateA, int[] b, int deB, int ateB,
+                                   int[] destino, int de, long[] centavos) {
+        int i = deA;
+        int j = deB;
+        int k = de;
+        while (i < ateA && j < ateB) {
+            destino[k++] = antes(b[j], a[i], centavos) ? b[j++] : a[i++];
+        }
+        while (i < ateA) {
+            destino[k++] = a[i++];
+        }
+        while (j < ateB) {
+            destino[k++] = b[j++];
+        }
+    }
+
+    private static boolean antes(int posicao, int outra, long[] centavos) {
+        return centavos[posicao] < centavos[outra] || centavos[posicao] == centavos[outra] && posicao < outra;
+    }
+
+    private static final class Bloco {
+
+        private final CategoriaResposta categoria;
+        private final long[] ids;
+        private final long[] centavos;
+        private final long[] versoes;
+        private final String[] nomes;
+        private final String[] skus;
+        private final int[] porPreco;
+
+        private Bloco(CategoriaResposta categoria, long[] ids, long[] centavos, long[] versoes,
+                      String[] nomes, String[] skus, int[] porPreco) {
+            this.categoria = categoria;
+            this.ids = ids;
+            this.centavos = centavos;
+            this.versoes = versoes;
+            this.nomes = nomes;
+            this.skus = skus;
+            this.porPreco = porPreco;
+        }
+
+        static Bloco vazio(long categoriaId, String nome) {
+            return new Bloco(new CategoriaResposta(categoriaId, internar(nome)),
+                    new long[0], new long[0], new long[0], new String[0], new String[0], new int[0]);
+        }
+
+        Bloco renomeado(String nome) {
+            return new Bloco(new CategoriaResposta(categoria.id(), internar(nome)),
+                    ids, centavos, versoes, nomes, skus, porPreco);
+        }
+
+        Bloco com(List<ProdutoResposta> entrando, List<Long> saindo) {
+            List<ProdutoResposta> novos = new ArrayList<>(entrando);
+            novos.sort(Comparator.comparingLong(ProdutoResposta::id));
+            long[] removidos = saindo.stream().mapToLong(Long::longValue).sorted().toArray();
+
+            int capacidade = ids.length + novos.size();
+            long[] novosIds = new long[capacidade];
+            long[] novosCentavos = new long[capacidade];
+            long[] novasVersoes = new long[capacidade];
+            String[] novosNomes = new String[capacidade];
+            String[] novosSkus = new String[capacidade];
+            int[] novaPosicao = new int[ids.length];
+            int[] inseridos = new int[novos.size()];
+
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < ids.length || j < novos.size()) {
+                if (j == novos.size() || i < ids.length && ids[i] < novos.get(j).id()) {
+                    if (Arrays.binarySearch(removidos, ids[i]) >= 0) {
+                        novaPosicao[i++] = -1;
+                        continue;
+                    }
+                    novosIds[k] = ids[i];
+                    novosCentavos[k] = centavos[i];
+                    novasVersoes[k] = versoes[i];
+                    novosNomes[k] = nomes[i];
+                    novosSkus[k] = skus[i];
+                    novaPosicao[i++] = k++;
+                } else {
+                    ProdutoResposta produto = novos.get(j);
+                    if (i < ids.length && ids[i] == produto.id()) {
+                        novaPosicao[i++] = -1;
+                    }
+                    novosIds[k] = produto.id();
+                    novosCentavos[k] = centavos(produto.preco());
+                    novasVersoes[k] = versao(produto);
+                    novosNomes[k] = internar(produto.nome());
+                    novosSkus[k] = produto.sku();
+                    inseridos[j++] = k++;
+                }
+            }
+
+            int[] mantidos = new int[porPreco.length];
+            int quantidadeMantidos = 0;
+            for (int posicao : porPreco) {
+                if (novaPosicao[posicao] >= 0) {
+                    mantidos[quantidadeMantidos++] = novaPosicao[posicao];
+                }
+            }
+            ordenarPorPreco(inseridos, inseridos.length, novosCentavos);
+            int[] novoPorPreco = new int[k];
+            intercalar(mantidos, 0, quantidadeMantidos, inseridos, 0, inseridos.length,
+                    novoPorPreco, 0, novosCentavos);
+
+            return new Bloco(categoria,
+                    Arrays.copyOf(novosIds, k),
+                    Arrays.copyOf(novosCentavos, k),
+                    Arrays.copyOf(novasVersoes, k),
+                    Arrays.copyOf(novosNomes, k),
+                    Arrays.copyOf(novosSkus, k),
+                    novoPorPreco);
+        }
+
+        int primeiroIdApos(long id) {
+            int posicao = Arrays.binarySearch(ids, id);
+            return posicao >= 0 ? posicao + 1 : -posicao - 1;
+        }
+
+        int primeiraOrdemApos(long centavosReferencia, long idReferencia, boolean inclusive) {
+            int baixo = 0;
+            int alto = porPreco.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                int posicao = porPreco[meio];
+                int comparacao = centavos[posicao] != centavosReferencia
+                        ? Long.compare(centavos[posicao], centavosReferencia)
+                        : Long.compare(ids[posicao], idReferencia);
+                if (comparacao > 0 || inclusive && comparacao == 0) {
+                    alto = meio;
+                } else {
+                    baixo = meio + 1;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    private static final class Percurso {
+
+        private final Bloco bloco;
+        private final OrdenacaoProduto ordenacao;
+        private final boolean filtraPreco;
+        private final long minimo;
+        private final long maximo;
+        private int proximo;
+        private final int fim;
+        private int posicao = -1;
+
+        Percurso(Bloco bloco, FiltroProdutos filtro, CursorProduto apos) {
+            this.bloco = bloco;
+            this.ordenacao = filtro.ordenacao();
+            this.filtraPreco = filtro.precoMinimo() != null || filtro.precoMaximo() != null;
+            this.minimo = filtro.precoMinimo() == null ? SEM_PRECO + 1 : limite(filtro.precoMinimo(), RoundingMode.CEILING);
+            this.maximo = filtro.precoMaximo() == null ? Long.MAX_VALUE : limite(filtro.precoMaximo(), RoundingMode.FLOOR);
+
+            switch (ordenacao) {
+                case ID -> {
+                    proximo = apos == null ? 0 : bloco.primeiroIdApos(apos.id());
+                    fim = bloco.ids.length;
+                }
+                case PRECO -> {
+                    int inicio = filtraPreco ? bloco.primeiraOrdemApos(minimo, Long.MIN_VALUE, true) : 0;
+                    if (apos != null) {
+                        inicio = Math.max(inicio, bloco.primeiraOrdemApos(centavosCursor(apos.preco()), apos.id(), false));
+                    }
+                    proximo = inicio;
+                    fim = bloco.primeiraOrdemApos(maximo, Long.MAX_VALUE, false);
+                }
+                case PRECO_DESC -> {
+                    int inicio = bloco.primeiraOrdemApos(maximo, Long.MAX_VALUE, false) - 1;
+                    if (apos != null) {
+                        inicio = Math.min(inicio, bloco.primeiraOrdemApos(centavosCursor(apos.preco()), apos.id(), true) - 1);
+                    }
+                    proximo = inicio;
+                    fim = filtraPreco ? bloco.primeiraOrdemApos(minimo, Long.MIN_VALUE, true) - 1 : -1;
+                }
+                default -> throw new IllegalStateException("Ordenação desconhecida: " + ordenacao);
+            }
+        }
+
+        boolean avancar() {
+            switch (ordenacao) {
+                case ID -> {
+                    while (proximo < fim) {
+                        int candidato = proximo++;
+                        long valor = bloco.centavos[candidato];
+                        if (!filtraPreco || valor != SEM_PRECO && valor >= minimo && valor <= maximo) {
+                            posicao = candidato;
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                case PRECO -> {
+                    if (proximo < fim) {
+                        posicao = bloco.porPreco[proximo++];
+                        return true;
+                    }
+                    return false;
+                }
+                default -> {
+                    if (proximo > fim) {
+                        posicao = bloco.porPreco[proximo--];
+                        return true;
+                    }
+                    return false;
+                }
+            }
+        }
+
+        long idAtual() {
+            return bloco.ids[posicao];
+        }
+
+        long centavosAtuais() {
+            return bloco.centavos[posicao];
+        }
+
+        ProdutoResposta produto() {
+            return new ProdutoResposta(bloco.ids[posicao], bloco.skus[posicao], bloco.nomes[posicao],
+                    preco(bloco.centavos[posicao]), bloco.versoes[posicao], bloco.categoria);
+        }
+    }
+
+    public static final class Construtor {
+
+        private final TreeMap<Long, Colunas> categorias = new TreeMap<>();
+
+        private Construtor() {
+        }
+
+        public Construtor categoria(long id, String nome) {
+            categorias.computeIfAbsent(id, Colunas::new).nome = nome;
+            return this;
+        }
+
+        public Construtor produto(long id, String sku, String nome, BigDecimal preco, long versao, long categoriaId) {
+            Colunas colunas = categorias.get(categoriaId);
+            if (colunas == null) {
+                throw new IllegalStateException("Categoria " + categoriaId + " não registrada antes do produto " + id);
+            }
+            colunas.adicionar(id, sku, nome, preco, versao);
+            return this;
+        }
+
+        public SnapshotCatalogo construir() {
+            long[] ids = new long[categorias.size()];
+            Bloco[] blocos = new Bloco[categorias.size()];
+            int i = 0;
+            for (Colunas colunas : categorias.values()) {
+                ids[i] = colunas.categoriaId;
+                blocos[i++] = colunas.bloco();
+            }
+            return new SnapshotCatalogo(ids, blocos);
+        }
+
+        private static final class Colunas {
+
+            private final long categoriaId;
+            private String nome;
+            private long[] ids = new long[16];
+            private long[] centavos = new long[16];
+            private long[] versoes = new long[16];
+            private String[] nomes = new String[16];
+            private String[] skus = new String[16];
+            private int tamanho;
+
+            Colunas(long categoriaId) {
+                this.categoriaId = categoriaId;
+            }
+
+            void adicionar(long id, String sku, String nomeProduto, BigDecimal preco, long versao) {
+                if (tamanho > 0 && ids[tamanho - 1] >= id) {
+                    throw new IllegalStateException("Produtos da categoria " + categoriaId
+                            + " devem chegar em ordem crescente de id");
+                }
+                if (tamanho == ids.length) {
+                    int capacidade = tamanho * 2;
+                    ids = Arrays.copyOf(ids, capacidade);
+                    centavos = Arrays.copyOf(centavos, capacidade);
+                    versoes = Arrays.copyOf(versoes, capacidade);
+                    nomes = Arrays.copyOf(nomes, capacidade);
+                    skus = Arrays.copyOf(skus, capacidade);
+                }
+                ids[tamanho] = id;
+                centavos[tamanho] = SnapshotCatalogo.centavos(preco);
+                versoes[tamanho] = versao;
+                nomes[tamanho] = internar(nomeProduto);
+                skus[tamanho] = sku;
+                tamanho++;
+            }
+
+            Bloco bloco() {
+                long[] centavosFinais = Arrays.copyOf(centavos, tamanho);
+                int[] porPreco = new int[tamanho];
+                for (int i = 0; i < tamanho; i++) {
+                    porPreco[i] = i;
+                }
+                ordenarPorPreco(porPreco, tamanho, centavosFinais);
+                return new Bloco(new CategoriaResposta(categoriaId, internar(nome)),
+                        Arrays.copyOf(ids, tamanho),
+                        centavosFinais,
+                        Arrays.copyOf(versoes, tamanho),
+                        Arrays.copyOf(nomes, tamanho),
+                        Arrays.copyOf(skus, tamanho),
+                        porPreco);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.mauricioandrade.desafio.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class VersaoCatalogo {
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong categorias = new AtomicLong();
+    private final AtomicLong produtos = new AtomicLong();
+
+    public String etagCategorias() {
+        return instancia + "-c" + categorias.get();
+    }
+
+    public String etagProdutos() {
+        return instancia + "-c" + categorias.get() + "-p" + produtos.get();
+    }
+
+    @EventListener
+    public void categoriaSalva(CategoriaSalvaEvent event) {
+        categorias.incrementAndGet();
+    }
+
+    @EventListener
+    public void produtosSalvos(ProdutosSalvosEvent event) {
+        produtos.incrementAndGet();
+    }
+}
@@ -0,0 +1,21 @@
+create sequence seq_categoria start with 1 increment by 50;
+create sequence seq_produto start with 1 increment by 50;
+
+create table tb_categoria (
+    id bigint not null,
+    nome varchar(255),
+    constraint pk_categoria primary key (id)
+);
+
+create table tb_produto (
+    id bigint not null,
+    nome varchar(255),
+    preco numeric(38, 2),
+    categoria_id bigint,
+    constraint pk_produto primary key (id),
+    constraint fk_produto_categoria foreign key (categoria_id) references tb_categoria (id)
+);
+
+create index idx_produto_categoria_id on tb_produto (categoria_id, id);
+create index idx_produto_categoria_preco on tb_produto (categoria_id, preco, id);
+create index idx_produto_preco_id on tb_produto (preco, id);
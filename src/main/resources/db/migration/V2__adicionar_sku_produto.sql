@@ -0,0 +1,3 @@
+alter table tb_produto add column sku varchar(64);
+
+create unique index uk_produto_sku on tb_produto (sku);
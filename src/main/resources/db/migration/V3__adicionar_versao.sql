@@ -0,0 +1,3 @@
+alter table tb_categoria add column versao bigint default 0 not null;
+
+alter table tb_produto add column versao bigint default 0 not null;
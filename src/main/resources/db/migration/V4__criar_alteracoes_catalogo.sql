@@ -0,0 +1,16 @@
+create sequence seq_alteracao_catalogo start with 1 increment by 1;
+
+create table tb_alteracao_catalogo (
+    tipo varchar(16) not null,
+    entidade_id bigint not null,
+    sequencia bigint not null,
+    primary key (tipo, entidade_id)
+);
+
+create unique index idx_alteracao_catalogo_sequencia on tb_alteracao_catalogo (sequencia);
+
+insert into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+select 'CATEGORIA', id, next value for seq_alteracao_catalogo from tb_categoria order by id;
+
+insert into tb_alteracao_catalogo (tipo, entidade_id, sequencia)
+select 'PRODUTO', id, next value for seq_alteracao_catalogo from tb_produto order by id;
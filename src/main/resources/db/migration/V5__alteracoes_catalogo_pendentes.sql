@@ -0,0 +1 @@
+alter table tb_alteracao_catalogo alter column sequencia set null;
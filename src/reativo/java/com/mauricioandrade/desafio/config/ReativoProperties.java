@@ -0,0 +1,17 @@
+package com.mauricioandrade.desafio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalogo.reativo")
+public record ReativoProperties(
+        @DefaultValue("r2dbc:h2:mem:///testdb") String url,
+        @DefaultValue("sa") String usuario,
+        @DefaultValue("") String senha,
+        @DefaultValue("16") int maximoConexoes,
+        @DefaultValue("5s") Duration esperaConexao,
+        @DefaultValue("256") int prefetch
+) {
+}
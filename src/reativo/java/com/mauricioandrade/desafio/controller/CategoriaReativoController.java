@@ -0,0 +1,96 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.service.CatalogoReativoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/categorias")
+@Profile("reativo")
+@Tag(
+        name = "Categorias (reativo)",
+        description = "Variante WebFlux + R2DBC dos endpoints de categorias, ativada pelo profile reativo"
+)
+public class CategoriaReativoController {
+
+    private final CatalogoReativoService catalogoReativoService;
+
+    public CategoriaReativoController(CatalogoReativoService catalogoReativoService) {
+        this.catalogoReativoService = catalogoReativoService;
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Criar nova categoria",
+            description = "Cria uma nova categoria; a gravação JPA roda no scheduler boundedElastic"
+    )
+    public Mono<ResponseEntity<CategoriaResposta>> salvarCategoria(@RequestBody Categoria categoria) {
+        return catalogoReativoService.salvarCategoria(categoria)
+                .map(resposta -> ResponseEntity.status(HttpStatus.CREATED).body(resposta));
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Listar todas as categorias",
+            description = "Lê as categorias via R2DBC e as emite como um Flux, sob demanda do cliente"
+    )
+    public Flux<CategoriaResposta> listarCategorias() {
+        return catalogoReativoService.listarCategorias();
+    }
+
+    @PostMapping("/{id}/produtos")
+    @Operation(
+            summary = "Criar produto em uma categoria",
+            description = "Cria um novo produto e o vincula à categoria especificada"
+    )
+    public Mono<ResponseEntity<ProdutoResposta>> criarProdutoParaCategoria(
+            @Parameter(description = "ID da categoria onde o produto será criado", required = true, example = "1")
+            @PathVariable Long id,
+            @RequestBody Produto produto) {
+
+        return catalogoReativoService.salvarProduto(id, produto)
+                .map(resposta -> ResponseEntity.status(HttpStatus.CREATED).body(resposta));
+    }
+
+    @GetMapping(value = "/{id}/produtos", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Listar produtos de uma categoria",
+            description = "Mesmo contrato de paginação por cursor da API bloqueante, lido via R2DBC"
+    )
+    public Mono<Pagina<ProdutoResposta>> listarProdutosDaCategoria(
+            @Parameter(description = "ID da categoria para listar os produtos", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Cursor opaco retornado em 'proximo' pela página anterior", example = "aWQ6Mg")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de produtos na página", example = "50")
+            @RequestParam(required = false) Integer limite) {
+
+        return catalogoReativoService.listarPorCategoria(id, cursor, limite);
+    }
+
+    @GetMapping("/{id}/produtos")
+    @Operation(
+            summary = "Transmitir produtos de uma categoria",
+            description = "Com Accept: application/x-ndjson (ou text/event-stream), transmite todos os produtos da "
+                    + "categoria como um Flux, respeitando a demanda do cliente"
+    )
+    public Flux<ProdutoResposta> transmitirProdutosDaCategoria(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor) {
+
+        return catalogoReativoService.transmitirPorCategoria(id, cursor);
+    }
+}
@@ -0,0 +1,122 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.StatusIngestao;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.service.CatalogoReativoService;
+import com.mauricioandrade.desafio.service.IngestaoProdutoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/produtos")
+@Profile("reativo")
+@Tag(
+        name = "Produtos (reativo)",
+        description = "Variante WebFlux + R2DBC dos endpoints de produtos, ativada pelo profile reativo"
+)
+public class ProdutoReativoController {
+
+    private final CatalogoReativoService catalogoReativoService;
+    private final IngestaoProdutoService ingestaoProdutoService;
+
+    public ProdutoReativoController(CatalogoReativoService catalogoReativoService,
+                                    IngestaoProdutoService ingestaoProdutoService) {
+        this.catalogoReativoService = catalogoReativoService;
+        this.ingestaoProdutoService = ingestaoProdutoService;
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Criar produto com categoria via parâmetro",
+            description = "Cria um novo produto vinculado à categoria informada. A gravação JPA roda no scheduler "
+                    + "boundedElastic, fora das threads do event loop"
+    )
+    public Mono<ResponseEntity<?>> criarProduto(
+            @Parameter(description = "ID da categoria à qual o produto será vinculado", required = true, example = "1")
+            @RequestParam Long categoriaId,
+            @RequestBody Produto produto) {
+
+        if (ingestaoProdutoService.ativa()) {
+            return catalogoReativoService.enfileirarProduto(categoriaId, produto)
+                    .map(status -> ResponseEntity.accepted()
+                            .location(URI.create("/produtos/ingestao/" + status.id()))
+                            .body(status));
+        }
+        return catalogoReativoService.salvarProduto(categoriaId, produto)
+                .map(resposta -> ResponseEntity.status(HttpStatus.CREATED).body(resposta));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Listar produtos paginados",
+            description = "Mesmo contrato de paginação por cursor da API bloqueante, lido via R2DBC"
+    )
+    public Mono<Pagina<ProdutoResposta>> listarProdutos(
+            @Parameter(description = "Cursor opaco retornado em 'proximo' pela página anterior", example = "aWQ6Mg")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de produtos na página", example = "50")
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) BigDecimal minPreco,
+            @RequestParam(required = false) BigDecimal maxPreco,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) String sort) {
+
+        FiltroProdutos filtro = new FiltroProdutos(categoriaId, minPreco, maxPreco, ordenacao(sort));
+        return catalogoReativoService.listarProdutos(filtro, cursor, limite);
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Transmitir produtos filtrados",
+            description = "Com Accept: application/x-ndjson (ou text/event-stream), transmite todos os produtos que "
+                    + "atendem aos filtros como um Flux, a partir do cursor opcional. A leitura no banco acompanha a "
+                    + "demanda do cliente: um cliente lento segura apenas o buffer da conexão, nunca uma thread"
+    )
+    public Flux<ProdutoResposta> transmitirProdutos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) BigDecimal minPreco,
+            @RequestParam(required = false) BigDecimal maxPreco,
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) String sort) {
+
+        FiltroProdutos filtro = new FiltroProdutos(categoriaId, minPreco, maxPreco, ordenacao(sort));
+        return catalogoReativoService.transmitirProdutos(filtro, cursor);
+    }
+
+    @GetMapping("/ingestao/{id}")
+    @Operation(
+            summary = "Consultar status de ingestão",
+            description = "Retorna a situação de um produto enviado com a ingestão assíncrona habilitada"
+    )
+    public ResponseEntity<StatusIngestao> consultarIngestao(@PathVariable UUID id) {
+        StatusIngestao status = ingestaoProdutoService.consultar(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Ingestão não encontrada"));
+        return ResponseEntity.ok(status);
+    }
+
+    private static OrdenacaoProduto ordenacao(String sort) {
+        try {
+            return OrdenacaoProduto.de(sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mauricioandrade.desafio.repository;
+
+import com.mauricioandrade.desafio.config.ReativoProperties;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@Profile("reativo")
+public class CatalogoReativoRepository implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient cliente;
+    private final int prefetch;
+
+    public CatalogoReativoRepository(ReativoProperties properties) {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(properties.url()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.usuario())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.senha())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .initialSize(1)
+                .maxSize(properties.maximoConexoes())
+                .maxAcquireTime(properties.esperaConexao())
+                .build());
+        this.cliente = DatabaseClient.create(pool);
+        this.prefetch = properties.prefetch();
+    }
+
+    public Flux<CategoriaResposta> listarCategorias() {
+        return cliente.sql("select id, nome from tb_categoria order by id")
+                .map(linha -> new CategoriaResposta(linha.get("id", Long.class), linha.get("nome", String.class)))
+                .all()
+                .limitRate(prefetch);
+    }
+
+    public Mono<Boolean> existeCategoria(Long id) {
+        return cliente.sql("select count(*) as total from tb_categoria where id = :id")
+                .bind("id", id)
+                .map(linha -> linha.get("total", Long.class) > 0)
+                .one();
+    }
+
+    public Flux<ProdutoResposta> listarProdutos(FiltroProdutos filtro, CursorProduto apos, Integer limite) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("""
+                select p.id, p.sku, p.nome, p.preco, p.versao, c.id as categoria_id, c.nome as categoria_nome
+                from tb_produto p join tb_categoria c on c.id = p.categoria_id
+                """)
+                .append(ListagemProdutos.condicoes(filtro, apos, "p.categoria_id", parametros))
+                .append(ListagemProdutos.ordenacao(filtro.ordenacao()));
+        if (limite != null) {
+            sql.append(" fetch first :limite rows only");
+            parametros.put("limite", limite);
+        }
+
+        DatabaseClient.GenericExecuteSpec consulta = cliente.sql(sql.toString());
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map(CatalogoReativoRepository::produto)
+                .all()
+                .limitRate(prefetch);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static ProdutoResposta produto(Readable linha) {
+        return new ProdutoResposta(
+                linha.get("id", Long.class),
+                linha.get("sku", String.class),
+                linha.get("nome", String.class),
+                linha.get("preco", BigDecimal.class),
+                linha.get("versao", Long.class),
+                linha.get("categoria_id", Long.class),
+                linha.get("categoria_nome", String.class));
+    }
+}
@@ -0,0 +1,108 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoImportacao;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.dto.StatusIngestao;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CatalogoReativoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@Profile("reativo")
+public class CatalogoReativoService {
+
+    private final CatalogoReativoRepository repositorio;
+    private final CategoriaService categoriaService;
+    private final ProdutoService produtoService;
+    private final IngestaoProdutoService ingestaoProdutoService;
+    private final Paginacao paginacao;
+
+    public CatalogoReativoService(CatalogoReativoRepository repositorio,
+                                  CategoriaService categoriaService,
+                                  ProdutoService produtoService,
+                                  IngestaoProdutoService ingestaoProdutoService,
+                                  Paginacao paginacao) {
+        this.repositorio = repositorio;
+        this.categoriaService = categoriaService;
+        this.produtoService = produtoService;
+        this.ingestaoProdutoService = ingestaoProdutoService;
+        this.paginacao = paginacao;
+    }
+
+    public Flux<CategoriaResposta> listarCategorias() {
+        return repositorio.listarCategorias();
+    }
+
+    public Mono<CategoriaResposta> salvarCategoria(Categoria categoria) {
+        return Mono.fromCallable(() -> CategoriaResposta.de(categoriaService.salvar(categoria)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<ProdutoResposta> salvarProduto(Long categoriaId, Produto produto) {
+        return Mono.fromCallable(() -> {
+            CategoriaResposta categoria = buscarCategoria(categoriaId);
+            produto.setCategoria(categoriaService.referencia(categoria));
+            return ProdutoResposta.de(produtoService.salvar(produto), categoria);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<StatusIngestao> enfileirarProduto(Long categoriaId, Produto produto) {
+        return Mono.fromCallable(() -> {
+            CategoriaResposta categoria = buscarCategoria(categoriaId);
+            ProdutoImportacao item = new ProdutoImportacao(produto.getNome(), produto.getPreco(), categoria.id());
+            String erro = item.validar();
+            if (erro != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+            }
+            return ingestaoProdutoService.enfileirar(item);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<Pagina<ProdutoResposta>> listarProdutos(FiltroProdutos filtro, String cursor, Integer limite) {
+        CursorProduto apos = produtoService.validar(filtro, cursor);
+        int tamanho = paginacao.limite(limite);
+        return repositorio.listarProdutos(filtro, apos, tamanho + 1)
+                .collectList()
+                .map(produtos -> paginacao.montar(produtos, tamanho,
+                        produto -> CursorProduto.apos(produto).chave(filtro.ordenacao())));
+    }
+
+    public Flux<ProdutoResposta> transmitirProdutos(FiltroProdutos filtro, String cursor) {
+        return repositorio.listarProdutos(filtro, produtoService.validar(filtro, cursor), null);
+    }
+
+    public Mono<Pagina<ProdutoResposta>> listarPorCategoria(Long categoriaId, String cursor, Integer limite) {
+        return exigirCategoria(categoriaId)
+                .then(listarProdutos(FiltroProdutos.daCategoria(categoriaId), cursor, limite));
+    }
+
+    public Flux<ProdutoResposta> transmitirPorCategoria(Long categoriaId, String cursor) {
+        return exigirCategoria(categoriaId)
+                .thenMany(transmitirProdutos(FiltroProdutos.daCategoria(categoriaId), cursor));
+    }
+
+    private Mono<Void> exigirCategoria(Long categoriaId) {
+        return repositorio.existeCategoria(categoriaId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Categoria não encontrada")))
+                .then();
+    }
+
+    private CategoriaResposta buscarCategoria(Long categoriaId) {
+        return categoriaService.buscarPorId(categoriaId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Categoria não encontrada"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import com.mauricioandrade.desafio.service.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("reativo")
+class ProdutoReativoControllerTests {
+
+    private static final ParameterizedTypeReference<Pagina<ProdutoResposta>> PAGINA = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    private WebTestClient cliente;
+    private Categoria categoria;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cliente = WebTestClient.bindToApplicationContext(contexto).build();
+        categoria = categoriaRepository.save(new Categoria(null, "Reativa"));
+        for (String preco : new String[]{"10.00", null, "10.00", "5.00", null, "20.00", "5.00"}) {
+            produtos.add(produtoRepository.save(new Produto(null, "Reativo " + produtos.size(),
+                    preco == null ? null : new BigDecimal(preco), categoria)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll(produtos);
+        categoriaRepository.delete(categoria);
+    }
+
+    @Test
+    void paginasReativasIguaisAListagemBloqueante() {
+        for (OrdenacaoProduto ordenacao : OrdenacaoProduto.values()) {
+            FiltroProdutos filtro = new FiltroProdutos(categoria.getId(), null, null, ordenacao);
+            String cursor = null;
+            int paginas = 0;
+            do {
+                Pagina<ProdutoResposta> esperada = produtoService.listar(filtro, cursor, 2);
+                Pagina<ProdutoResposta> obtida = listar(filtro, cursor, 2);
+                assertThat(obtida).as("%s, página %d", ordenacao, paginas).isEqualTo(esperada);
+                cursor = esperada.proximo();
+                paginas++;
+            } while (cursor != null);
+            assertThat(paginas).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void paginaReativaComFaixaDePrecoIgualAListagemBloqueante() {
+        FiltroProdutos filtro = new FiltroProdutos(null, new BigDecimal("5.00"), new BigDecimal("10.00"),
+                OrdenacaoProduto.PRECO_DESC);
+
+        assertThat(listar(filtro, null, 50)).isEqualTo(produtoService.listar(filtro, null, 50));
+    }
+
+    private Pagina<ProdutoResposta> listar(FiltroProdutos filtro, String cursor, int limite) {
+        return cliente.get()
+                .uri(uri -> {
+                    uri.path("/produtos")
+                            .queryParam("sort", filtro.ordenacao().valor())
+                            .queryParam("limite", limite);
+                    if (filtro.categoriaId() != null) {
+                        uri.queryParam("categoriaId", filtro.categoriaId());
+                    }
+                    if (filtro.precoMinimo() != null) {
+                        uri.queryParam("minPreco", filtro.precoMinimo());
+                    }
+                    if (filtro.precoMaximo() != null) {
+                        uri.queryParam("maxPreco", filtro.precoMaximo());
+                    }
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    return uri.build();
+                })
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PAGINA)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,120 @@
+package com.mauricioandrade.desafio.config;
+
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:gerador",
+        "catalogo.gerador.categorias=3",
+        "catalogo.gerador.produtos-por-categoria=4",
+        "catalogo.gerador.distribuicao-preco=log-normal",
+        "catalogo.gerador.preco-minimo=5.00",
+        "catalogo.gerador.preco-maximo=50.00",
+        "catalogo.gerador.desvio-preco=3.0",
+        "catalogo.gerador.tamanho-lote=5"
+})
+@ActiveProfiles("gerador")
+class GeradorCatalogoTests {
+
+    private static final String PRODUTOS = """
+            select p.id, p.nome, p.preco, p.categoria_id from tb_produto p
+            where p.id between ? and ? order by p.id
+            """;
+
+    @Autowired
+    private GeradorCatalogo gerador;
+
+    @Autowired
+    private GeradorCatalogoProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Test
+    void perfilGeradorPopulaCatalogoNaPartidaSemSeed() {
+        assertThat(contexto.getBeansOfType(GeracaoCatalogo.class)).hasSize(1);
+        assertThat(contexto.getBeansOfType(DataSeeding.class)).isEmpty();
+
+        List<Map<String, Object>> categorias = jdbc.queryForList("""
+                select c.id, c.nome, count(p.id) as produtos from tb_categoria c
+                left join tb_produto p on p.categoria_id = c.id
+                where c.nome in ('Informática', 'Livros', 'Eletrônicos')
+                group by c.id, c.nome order by c.id
+                """);
+        assertThat(categorias).extracting(linha -> linha.get("NOME"))
+                .containsExactly("Informática", "Livros", "Eletrônicos");
+        assertThat(categorias).extracting(linha -> ((Number) linha.get("PRODUTOS")).intValue())
+                .containsOnly(4);
+
+        long primeiraCategoria = ((Number) categorias.getFirst().get("ID")).longValue();
+        List<Map<String, Object>> produtos = jdbc.queryForList(
+                "select p.nome, p.preco, p.categoria_id from tb_produto p where p.categoria_id between ? and ?",
+                primeiraCategoria, primeiraCategoria + 2);
+        assertThat(produtos).hasSize(12).allSatisfy(produto -> {
+            assertThat((String) produto.get("NOME")).matches("\\S+ .+ \\d{3}");
+            assertThat((BigDecimal) produto.get("PRECO"))
+                    .isBetween(new BigDecimal("5.00"), new BigDecimal("50.00"))
+                    .satisfies(preco -> assertThat(preco.scale()).isEqualTo(2));
+        });
+    }
+
+    @Test
+    void mesmaSementeGeraMesmoCatalogoSemColidirComAsSequencias() {
+        GeradorCatalogo.CatalogoGerado primeiro = gerador.gerar(properties);
+        GeradorCatalogo.CatalogoGerado segundo = gerador.gerar(properties);
+        Produto avulso = null;
+        try {
+            assertThat(primeiro.produtos()).isEqualTo(12);
+            assertThat(segundo.primeiraCategoria()).isGreaterThanOrEqualTo(primeiro.primeiraCategoria() + 3);
+            assertThat(segundo.primeiroProduto()).isGreaterThanOrEqualTo(primeiro.primeiroProduto() + 12);
+            assertThat(relativos(segundo)).isEqualTo(relativos(primeiro));
+
+            avulso = produtoRepository.save(new Produto(null, "Avulso", BigDecimal.TEN,
+                    categoriaRepository.getReferenceById(segundo.primeiraCategoria())));
+            assertThat(avulso.getId()).isGreaterThanOrEqualTo(segundo.primeiroProduto() + 12);
+        } finally {
+            if (avulso != null) {
+                produtoRepository.deleteById(avulso.getId());
+            }
+            remover(primeiro);
+            remover(segundo);
+        }
+    }
+
+    private List<List<Object>> relativos(GeradorCatalogo.CatalogoGerado catalogo) {
+        return jdbc.query(PRODUTOS, (linha, indice) -> List.of(
+                        linha.getString("nome"),
+                        linha.getBigDecimal("preco"),
+                        linha.getLong("categoria_id") - catalogo.primeiraCategoria()),
+                catalogo.primeiroProduto(), catalogo.primeiroProduto() + catalogo.produtos() - 1);
+    }
+
+    private void remover(GeradorCatalogo.CatalogoGerado catalogo) {
+        jdbc.update("delete from tb_produto where id between ? and ?",
+                catalogo.primeiroProduto(), catalogo.primeiroProduto() + catalogo.produtos() - 1);
+        jdbc.update("delete from tb_categoria where id between ? and ?",
+                catalogo.primeiraCategoria(), catalogo.primeiraCategoria() + catalogo.categorias() - 1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("cache-l2")
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final List<Long> produtos = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        categorias.add(categoriaRepository.save(new Categoria(null, "L2 origem")));
+        categorias.add(categoriaRepository.save(new Categoria(null, "L2 destino")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAllById(produtos);
+        categoriaRepository.deleteAll(categorias);
+    }
+
+    @Test
+    void mergePorSkuDescartaEntidadeEConsultasEmCache() throws Exception {
+        Long origem = categorias.get(0).getId();
+        Long destino = categorias.get(1).getId();
+        Long id = mesclar("TST-L2-1", "Caneca", "12.00", origem);
+
+        assertThat(produtoRepository.findById(id).orElseThrow().getNome()).isEqualTo("Caneca");
+        assertThat(entityManagerFactory.getCache().contains(Produto.class, id)).isTrue();
+        listarDaCategoria(origem, "Caneca");
+        long acertos = statistics.getQueryCacheHitCount();
+        listarDaCategoria(origem, "Caneca");
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(acertos);
+
+        assertThat(mesclar("TST-L2-1", "Caneca grande", "15.00", destino)).isEqualTo(id);
+
+        assertThat(entityManagerFactory.getCache().contains(Produto.class, id)).isFalse();
+        Produto atualizado = produtoRepository.findById(id).orElseThrow();
+        assertThat(atualizado.getNome()).isEqualTo("Caneca grande");
+        assertThat(atualizado.getPreco()).isEqualByComparingTo("15.00");
+        assertThat(atualizado.getVersao()).isEqualTo(1L);
+        listarDaCategoria(origem);
+        listarDaCategoria(destino, "Caneca grande");
+
+        mesclar("TST-L2-2", "Prato", "8.00", origem);
+        listarDaCategoria(origem, "Prato");
+    }
+
+    private Long mesclar(String sku, String nome, String preco, Long categoriaId) throws Exception {
+        String resposta = mockMvc.perform(put("/produtos/by-sku/{sku}", sku)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"" + nome + "\", \"preco\": " + preco
+                                + ", \"categoriaId\": " + categoriaId + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long id = ((Number) JsonPath.read(resposta, "$.id")).longValue();
+        if (!produtos.contains(id)) {
+            produtos.add(id);
+        }
+        return id;
+    }
+
+    private void listarDaCategoria(Long categoriaId, String... nomes) throws Exception {
+        String pagina = mockMvc.perform(get("/categorias/{id}/produtos", categoriaId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> obtidos = JsonPath.read(pagina, "$.itens[*].nome");
+        assertThat(obtidos).containsExactly(nomes);
+    }
+}
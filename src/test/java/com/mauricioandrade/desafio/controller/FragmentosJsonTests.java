@@ -0,0 +1,153 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.Pagina;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import com.mauricioandrade.desafio.service.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "catalogo.fragmentos-json.habilitado=true")
+@AutoConfigureMockMvc
+class FragmentosJsonTests {
+
+    private static final int LIMITE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Categoria categoria;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        categoria = categoriaRepository.save(new Categoria(null, "Fragmentos"));
+        for (String preco : new String[]{"10.00", null, "7.50", "10.00", "99.99"}) {
+            produtos.add(produtoRepository.save(new Produto(null, "Fragmento \"" + produtos.size() + "\" ç",
+                    preco == null ? null : new BigDecimal(preco), categoria)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAllById(produtos.stream().map(Produto::getId).toList());
+        categoriaRepository.delete(categoria);
+    }
+
+    @Test
+    void paginasMontadasComFragmentosIguaisAoJackson() throws Exception {
+        assertPaginasIguais();
+    }
+
+    @Test
+    void paginasMontadasComFragmentosIguaisAoJacksonDepoisDoPatch() throws Exception {
+        assertPaginasIguais();
+
+        Produto alterado = produtos.get(2);
+        mockMvc.perform(patch("/produtos/{id}", alterado.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Fragmento renomeado\", \"preco\": 1.25}"))
+                .andExpect(status().isOk());
+
+        assertPaginasIguais();
+        String primeira = new String(listarDaCategoria(), StandardCharsets.UTF_8);
+        List<String> nomes = JsonPath.read(primeira, "$.itens[*].nome");
+        assertThat(nomes).contains("Fragmento renomeado");
+    }
+
+    @Test
+    void categoriaInexistenteDevolve404MesmoComETagAtual() throws Exception {
+        String etag = mockMvc.perform(get("/categorias/{id}/produtos", categoria.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/categorias/{id}/produtos", Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    private void assertPaginasIguais() throws Exception {
+        for (OrdenacaoProduto ordenacao : OrdenacaoProduto.values()) {
+            FiltroProdutos filtro = new FiltroProdutos(categoria.getId(), null, null, ordenacao);
+            assertPaginasIguais(ordenacao.valor(),
+                    () -> get("/produtos")
+                            .param("categoriaId", categoria.getId().toString())
+                            .param("sort", ordenacao.valor()),
+                    cursor -> produtoService.listar(filtro, cursor, LIMITE));
+        }
+        assertPaginasIguais("categoria",
+                () -> get("/categorias/{id}/produtos", categoria.getId()),
+                cursor -> produtoService.listarPorCategoria(categoria.getId(), cursor, LIMITE));
+    }
+
+    private void assertPaginasIguais(String descricao,
+                                     Supplier<MockHttpServletRequestBuilder> requisicao,
+                                     Function<String, Pagina<ProdutoResposta>> jackson)
+            throws Exception {
+        String cursor = null;
+        int paginas = 0;
+        do {
+            MockHttpServletRequestBuilder pedido = requisicao.get().param("limite", String.valueOf(LIMITE));
+            if (cursor != null) {
+                pedido.param("cursor", cursor);
+            }
+            byte[] obtido = mockMvc.perform(pedido)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            Pagina<ProdutoResposta> pagina = jackson.apply(cursor);
+            assertThat(obtido).as("%s, página %d", descricao, paginas)
+                    .isEqualTo(objectMapper.writeValueAsBytes(pagina));
+            byte[] repetido = mockMvc.perform(pedido)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+            assertThat(repetido).as("%s, página %d em cache", descricao, paginas).isEqualTo(obtido);
+            cursor = pagina.proximo();
+            paginas++;
+        } while (cursor != null);
+        assertThat(paginas).isGreaterThan(1);
+    }
+
+    private byte[] listarDaCategoria() throws Exception {
+        return mockMvc.perform(get("/categorias/{id}/produtos", categoria.getId()).param("limite", "50"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
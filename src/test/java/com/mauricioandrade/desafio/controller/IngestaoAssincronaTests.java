@@ -0,0 +1,127 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import com.mauricioandrade.desafio.service.GravadorProdutos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "catalogo.ingestao.assincrona=true",
+        "catalogo.ingestao.capacidade-fila=1",
+        "catalogo.ingestao.tamanho-lote=1"
+})
+@AutoConfigureMockMvc
+class IngestaoAssincronaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @MockitoSpyBean
+    private GravadorProdutos gravador;
+
+    private Categoria categoria;
+    private final List<Long> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        categoria = categoriaRepository.save(new Categoria(null, "Ingestão"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAllById(produtos);
+        categoriaRepository.delete(categoria);
+    }
+
+    @Test
+    void produtoAceitoFicaPendenteAteSerGravadoEFilaCheiaDevolve429() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberado = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            gravando.countDown();
+            liberado.await();
+            return invocacao.callRealMethod();
+        }).when(gravador).gravar(anyList());
+
+        try {
+            String primeiro = enfileirar("Primeiro")
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.situacao").value("PENDENTE"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+            assertThat(gravando.await(10, TimeUnit.SECONDS)).isTrue();
+
+            String segundo = enfileirar("Segundo")
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+            enfileirar("Terceiro").andExpect(status().isTooManyRequests());
+
+            mockMvc.perform(get(primeiro))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+            mockMvc.perform(get(segundo))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+
+            liberado.countDown();
+            assertGravado(primeiro, "Primeiro");
+            assertGravado(segundo, "Segundo");
+        } finally {
+            liberado.countDown();
+        }
+    }
+
+    private ResultActions enfileirar(String nome) throws Exception {
+        return mockMvc.perform(post("/produtos").param("categoriaId", categoria.getId().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"" + nome + "\", \"preco\": 10.00}"));
+    }
+
+    private void assertGravado(String location, String nome) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String resposta;
+        do {
+            Thread.sleep(20);
+            resposta = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        } while ("PENDENTE".equals(JsonPath.read(resposta, "$.situacao")) && System.nanoTime() < limite);
+
+        assertThat((String) JsonPath.read(resposta, "$.situacao")).isEqualTo("GRAVADO");
+        long produtoId = ((Number) JsonPath.read(resposta, "$.produtoId")).longValue();
+        produtos.add(produtoId);
+        mockMvc.perform(get("/produtos").param("ids", Long.toString(produtoId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value(nome));
+    }
+}
@@ -0,0 +1,737 @@
+package com.mauricioandrade.desafio.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mauricioandrade.desafio.config.CacheConfig;
+import com.mauricioandrade.desafio.config.FormatosConfig;
+import com.mauricioandrade.desafio.config.PaginaProtobufHttpMessageConverter;
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.EstatisticasCategoria;
+import com.mauricioandrade.desafio.dto.TipoAlteracao;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.protobuf.PaginaProdutosProto;
+import com.mauricioandrade.desafio.repository.AlteracaoCatalogoRepository;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import com.mauricioandrade.desafio.service.AlteracoesCatalogo;
+import com.mauricioandrade.desafio.service.CategoriaService;
+import com.mauricioandrade.desafio.service.EstatisticasCategorias;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ProdutoControllerTests {
+
+    private static final int CATEGORIAS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private EstatisticasCategorias estatisticasCategorias;
+
+    @Autowired
+    private AlteracaoCatalogoRepository alteracaoCatalogoRepository;
+
+    @Autowired
+    private AlteracoesCatalogo alteracoesCatalogo;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final List<Produto> produtos = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = categoriaRepository.save(new Categoria(null, "Categoria " + i));
+            categorias.add(categoria);
+            produtos.add(produtoRepository.save(new Produto(null, "Produto " + i, new BigDecimal("10.00"), categoria)));
+            produtos.add(produtoRepository.save(new Produto(null, "Outro " + i, new BigDecimal("20.00"), categoria)));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll(produtos);
+        categoriaRepository.deleteAll(categorias);
+    }
+
+    @Test
+    void listarProdutosCarregaCategoriasNaMesmaConsulta() throws Exception {
+        mockMvc.perform(get("/produtos").param("limite", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].categoria.nome").exists());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarProdutosDaCategoriaNaoConsultaCategoriaPorProduto() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+
+        mockMvc.perform(get("/categorias/{id}/produtos", categoriaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void buscarProdutosPorIdsRespeitaOrdemEInformaAusentes() throws Exception {
+        Long primeiro = produtos.get(3).getId();
+        Long segundo = produtos.get(0).getId();
+        long inexistente = Long.MAX_VALUE;
+
+        mockMvc.perform(get("/produtos").param("ids", primeiro + "," + segundo + "," + inexistente + "," + primeiro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].id").value(primeiro))
+                .andExpect(jsonPath("$.itens[1].id").value(segundo))
+                .andExpect(jsonPath("$.itens[1].categoria.nome").exists())
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(inexistente));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void feedDeAlteracoesTrazApenasOQueMudouDepoisDaSequencia() throws Exception {
+        String inicio = mockMvc.perform(get("/catalog/changes").param("since", "0").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long desde = ((Number) JsonPath.read(inicio, "$.proxima")).longValue();
+        Long categoriaId = categorias.getFirst().getId();
+
+        String criado = mockMvc.perform(post("/produtos").param("categoriaId", categoriaId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Produto do feed\", \"preco\": 15.00}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = ((Number) JsonPath.read(criado, "$.id")).longValue();
+        produtos.add(produtoRepository.findById(id).orElseThrow());
+
+        mockMvc.perform(get("/catalog/changes").param("since", Long.toString(desde)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].tipo").value("PRODUTO"))
+                .andExpect(jsonPath("$.itens[0].produto.id").value(id))
+                .andExpect(jsonPath("$.itens[0].produto.categoria.id").value(categoriaId))
+                .andExpect(jsonPath("$.temMais").value(false));
+    }
+
+    @Test
+    void feedDeAlteracoesSequenciaPendentesNaReconciliacao() throws Exception {
+        String inicio = mockMvc.perform(get("/catalog/changes").param("since", "0").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long desde = ((Number) JsonPath.read(inicio, "$.proxima")).longValue();
+        Long id = produtos.getFirst().getId();
+
+        alteracaoCatalogoRepository.marcarPendentes(TipoAlteracao.PRODUTO, List.of(id));
+        mockMvc.perform(get("/catalog/changes").param("since", Long.toString(desde)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(0));
+
+        alteracoesCatalogo.reconciliar();
+        String depois = mockMvc.perform(get("/catalog/changes").param("since", Long.toString(desde))
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(depois, "$.itens[*].produto.id");
+        assertThat(ids).extracting(Number::longValue).contains(id);
+    }
+
+    @Test
+    void importarJsonRejeitaItemInvalidoSemInterromperOLote() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+        String corpo = """
+                [
+                  {"nome": "Importado A", "preco": 10.00, "categoriaId": %1$d},
+                  {"nome": "Importado B", "preco": "abc", "categoriaId": %1$d},
+                  {"nome": "Importado C", "preco": 30.00, "categoriaId": %1$d}
+                ]
+                """.formatted(categoriaId);
+
+        mockMvc.perform(post("/produtos/importacao").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidos").value(3))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(1))
+                .andExpect(jsonPath("$.erros[0].posicao").value(2));
+
+        produtoRepository.findAll().stream()
+                .filter(produto -> produto.getNome() != null && produto.getNome().startsWith("Importado "))
+                .forEach(produtos::add);
+    }
+
+    @Test
+    void paginarPorPrecoIncluiProdutosSemPreco() throws Exception {
+        Categoria categoria = categoriaRepository.save(new Categoria(null, "Categoria sem preço"));
+        categorias.add(categoria);
+        Produto semPreco1 = produtoRepository.save(new Produto(null, "Sem preço 1", null, categoria));
+        Produto caro1 = produtoRepository.save(new Produto(null, "Caro 1", new BigDecimal("5.00"), categoria));
+        Produto semPreco2 = produtoRepository.save(new Produto(null, "Sem preço 2", null, categoria));
+        Produto barato = produtoRepository.save(new Produto(null, "Barato", new BigDecimal("1.00"), categoria));
+        Produto caro2 = produtoRepository.save(new Produto(null, "Caro 2", new BigDecimal("5.00"), categoria));
+        produtos.addAll(List.of(semPreco1, caro1, semPreco2, barato, caro2));
+
+        assertThat(paginarIds(categoria.getId(), "preco")).containsExactly(
+                semPreco1.getId(), semPreco2.getId(), barato.getId(), caro1.getId(), caro2.getId());
+        assertThat(paginarIds(categoria.getId(), "-preco")).containsExactly(
+                caro2.getId(), caro1.getId(), barato.getId(), semPreco2.getId(), semPreco1.getId());
+    }
+
+    @Test
+    void alterarComIfMatchAtualDevolveNovaVersaoEAtualizaEstatisticas() throws Exception {
+        Produto produto = produtos.getFirst();
+        Long categoriaId = categorias.getFirst().getId();
+        estatisticasCategorias.construir();
+        mockMvc.perform(get("/categorias/{id}/stats", categoriaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.precoMinimo").value(10.0));
+
+        mockMvc.perform(patch("/produtos/{id}", produto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + produto.getVersao() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": 12.50}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (produto.getVersao() + 1) + "\""))
+                .andExpect(jsonPath("$.preco").value(12.5))
+                .andExpect(jsonPath("$.versao").value(produto.getVersao() + 1));
+        produtos.set(0, produtoRepository.findById(produto.getId()).orElseThrow());
+
+        mockMvc.perform(get("/categorias/{id}/stats", categoriaId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(2))
+                .andExpect(jsonPath("$.precoMinimo").value(12.5))
+                .andExpect(jsonPath("$.precoMedio").value(16.25))
+                .andExpect(jsonPath("$.precoMaximo").value(20.0));
+    }
+
+    @Test
+    void estatisticasDaCategoriaAcompanhamInclusaoPrecoEMudancaDeCategoria() throws Exception {
+        Long origem = categorias.get(2).getId();
+        Long destino = categorias.get(3).getId();
+        estatisticasCategorias.construir();
+
+        String criado = mockMvc.perform(post("/produtos").param("categoriaId", origem.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Produto sem preço\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long semPrecoId = ((Number) JsonPath.read(criado, "$.id")).longValue();
+        produtos.add(produtoRepository.findById(semPrecoId).orElseThrow());
+        mockMvc.perform(get("/categorias/{id}/stats", origem))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(3))
+                .andExpect(jsonPath("$.precoMinimo").value(10.0))
+                .andExpect(jsonPath("$.precoMedio").value(15.0))
+                .andExpect(jsonPath("$.precoMaximo").value(20.0));
+
+        Produto barato = produtos.get(4);
+        mockMvc.perform(patch("/produtos/{id}", barato.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": 30.00}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/categorias/{id}/stats", origem))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(3))
+                .andExpect(jsonPath("$.precoMinimo").value(20.0))
+                .andExpect(jsonPath("$.precoMedio").value(25.0))
+                .andExpect(jsonPath("$.precoMaximo").value(30.0));
+
+        mockMvc.perform(patch("/produtos/{id}", barato.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoriaId\": " + destino + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/produtos/{id}", semPrecoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoriaId\": " + destino + "}"))
+                .andExpect(status().isOk());
+        produtos.set(4, produtoRepository.findById(barato.getId()).orElseThrow());
+        produtos.set(produtos.size() - 1, produtoRepository.findById(semPrecoId).orElseThrow());
+
+        mockMvc.perform(get("/categorias/{id}/stats", origem))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(1))
+                .andExpect(jsonPath("$.precoMinimo").value(20.0))
+                .andExpect(jsonPath("$.precoMedio").value(20.0))
+                .andExpect(jsonPath("$.precoMaximo").value(20.0));
+        mockMvc.perform(get("/categorias/{id}/stats", destino))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeProdutos").value(4))
+                .andExpect(jsonPath("$.precoMinimo").value(10.0))
+                .andExpect(jsonPath("$.precoMedio").value(20.0))
+                .andExpect(jsonPath("$.precoMaximo").value(30.0));
+    }
+
+    @Test
+    void escritasConcorrentesNoMesmoProdutoMantemEstatisticasIguaisAoBanco() throws Exception {
+        Produto produto = produtos.getFirst();
+        Long origem = categorias.get(0).getId();
+        Long destino = categorias.get(1).getId();
+        estatisticasCategorias.construir();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Long categoriaId = i % 2 == 0 ? destino : origem;
+            String preco = i % 5 == 0 ? "null" : String.valueOf(5 + i % 7);
+            tarefas.add(executor.submit(() -> mockMvc.perform(patch("/produtos/{id}", produto.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"preco\": " + preco + ", \"categoriaId\": " + categoriaId + "}"))
+                    .andReturn()));
+            if (i % 10 == 0) {
+                tarefas.add(executor.submit(() -> estatisticasCategorias.construir()));
+            }
+        }
+        executor.shutdown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        produtos.set(0, produtoRepository.findById(produto.getId()).orElseThrow());
+
+        String corpo = mockMvc.perform(get("/categorias/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        for (Long categoriaId : List.of(origem, destino)) {
+            EstatisticasCategoria banco = categoriaRepository.resumir(categoriaId).orElseThrow().estatisticas();
+            List<Map<String, Object>> obtidas = JsonPath.read(corpo, "$[?(@.categoriaId == " + categoriaId + ")]");
+            Map<String, Object> obtida = obtidas.getFirst();
+            assertThat(((Number) obtida.get("quantidadeProdutos")).longValue()).isEqualTo(banco.quantidadeProdutos());
+            assertThat(decimal(obtida.get("precoMinimo"))).isEqualTo(escala(banco.precoMinimo()));
+            assertThat(decimal(obtida.get("precoMedio"))).isEqualTo(escala(banco.precoMedio()));
+            assertThat(decimal(obtida.get("precoMaximo"))).isEqualTo(escala(banco.precoMaximo()));
+        }
+    }
+
+    @Test
+    void buscarCasaPrefixoDoUltimoTermo() throws Exception {
+        Produto mecanico = criar("Teclado Mecânico Zyxcor");
+        Produto membrana = criar("Teclado Membrana Zyxcor");
+        Produto mouse = criar("Mouse Óptico Zyxcor");
+
+        mockMvc.perform(get("/produtos/search").param("q", "zyxc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(
+                        mecanico.getId().intValue(), membrana.getId().intValue(), mouse.getId().intValue())));
+    }
+
+    @Test
+    void buscarExigeTodosOsTermos() throws Exception {
+        Produto mecanico = criar("Teclado Mecânico Zyxcor");
+        Produto membrana = criar("Teclado Membrana Zyxcor");
+        criar("Mouse Óptico Zyxcor");
+
+        mockMvc.perform(get("/produtos/search").param("q", "teclado zyxcor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(containsInAnyOrder(
+                        mecanico.getId().intValue(), membrana.getId().intValue())));
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor teclado me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor teclado mec"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(mecanico.getId()));
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor inexistente teclado"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void buscarIgnoraAcentosEMaiusculas() throws Exception {
+        Produto mouse = criar("Mouse Óptico Zyxcor");
+
+        for (String consulta : List.of("OPTICO ZYXCOR", "óptico zyxcor", "Zyxcor ÓPT", "zyxcor MOUSE")) {
+            mockMvc.perform(get("/produtos/search").param("q", consulta))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(mouse.getId()));
+        }
+    }
+
+    @Test
+    void buscarNaoEncontraProdutoPeloNomeAntigo() throws Exception {
+        Produto mouse = criar("Mouse Óptico Zyxcor");
+
+        mockMvc.perform(patch("/produtos/{id}", mouse.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Mouse Sem Fio Zyxcor\"}"))
+                .andExpect(status().isOk());
+        produtos.set(produtos.size() - 1, produtoRepository.findById(mouse.getId()).orElseThrow());
+
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor optico"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor opt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/produtos/search").param("q", "zyxcor sem fi"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Mouse Sem Fio Zyxcor"));
+    }
+
+    @Test
+    void mesclarPorSkuCriaEDepoisAtualizaOMesmoProduto() throws Exception {
+        Long origem = categorias.get(0).getId();
+        Long destino = categorias.get(1).getId();
+
+        String criado = mockMvc.perform(put("/produtos/by-sku/{sku}", "TST-MERGE-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Caneca\", \"preco\": 12.00, \"categoriaId\": " + origem + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sku").value("TST-MERGE-1"))
+                .andExpect(jsonPath("$.versao").value(0))
+                .andReturn().getResponse().getContentAsString();
+        Long id = ((Number) JsonPath.read(criado, "$.id")).longValue();
+
+        mockMvc.perform(put("/produtos/by-sku/{sku}", "TST-MERGE-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Caneca grande\", \"preco\": 15.00, \"categoriaId\": " + destino + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.nome").value("Caneca grande"))
+                .andExpect(jsonPath("$.preco").value(15.0))
+                .andExpect(jsonPath("$.versao").value(1))
+                .andExpect(jsonPath("$.categoria.id").value(destino));
+        registrarPorSku("TST-MERGE-1");
+
+        mockMvc.perform(get("/produtos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Caneca grande"));
+    }
+
+    @Test
+    void mesclarCargaReaplicadaNaoDuplicaProdutos() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+        String carga = "["
+                + "{\"sku\": \"TST-CARGA-1\", \"nome\": \"Primeiro\", \"preco\": 10.00, \"categoriaId\": " + categoriaId + "},"
+                + "{\"sku\": \"TST-CARGA-2\", \"nome\": \"Segundo\", \"preco\": 20.00, \"categoriaId\": " + categoriaId + "},"
+                + "{\"sku\": \"TST-CARGA-1\", \"nome\": \"Primeiro revisto\", \"preco\": 11.00, \"categoriaId\": " + categoriaId + "}"
+                + "]";
+        long antes = produtoRepository.count();
+
+        mockMvc.perform(put("/produtos/by-sku").contentType(MediaType.APPLICATION_JSON).content(carga))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidos").value(3))
+                .andExpect(jsonPath("$.rejeitados").value(0));
+        Produto primeiro = registrarPorSku("TST-CARGA-1");
+        Produto segundo = registrarPorSku("TST-CARGA-2");
+        assertThat(produtoRepository.count()).isEqualTo(antes + 2);
+        assertThat(primeiro.getNome()).isEqualTo("Primeiro revisto");
+
+        mockMvc.perform(put("/produtos/by-sku").contentType(MediaType.APPLICATION_JSON).content(carga))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejeitados").value(0));
+
+        assertThat(produtoRepository.count()).isEqualTo(antes + 2);
+        assertThat(produtoRepository.buscarPorSku("TST-CARGA-1").orElseThrow().id()).isEqualTo(primeiro.getId());
+        assertThat(produtoRepository.buscarPorSku("TST-CARGA-2").orElseThrow().id()).isEqualTo(segundo.getId());
+        produtos.set(produtos.indexOf(primeiro), produtoRepository.findById(primeiro.getId()).orElseThrow());
+        produtos.set(produtos.indexOf(segundo), produtoRepository.findById(segundo.getId()).orElseThrow());
+    }
+
+    @Test
+    void criarComSkuJaCadastradoDevolve409() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+        mockMvc.perform(put("/produtos/by-sku/{sku}", "TST-DUPLICADO")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Original\", \"preco\": 5.00, \"categoriaId\": " + categoriaId + "}"))
+                .andExpect(status().isOk());
+        registrarPorSku("TST-DUPLICADO");
+        long antes = produtoRepository.count();
+
+        mockMvc.perform(post("/produtos").param("categoriaId", categoriaId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Cópia\", \"preco\": 6.00, \"sku\": \"TST-DUPLICADO\"}"))
+                .andExpect(status().isConflict());
+
+        assertThat(produtoRepository.count()).isEqualTo(antes);
+    }
+
+    @Test
+    void categoriaInexistenteDevolve404MesmoComETagAtual() throws Exception {
+        String etag = mockMvc.perform(get("/categorias/{id}/produtos", categorias.getFirst().getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/categorias/{id}/produtos", Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportarProdutosEmNdjsonComESemGzip() throws Exception {
+        byte[] plano = exportar(null);
+        String[] linhas = new String(plano, StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize((int) produtoRepository.count());
+        List<Long> exportados = new ArrayList<>();
+        for (String linha : linhas) {
+            exportados.add(((Number) JsonPath.read(linha, "$.id")).longValue());
+        }
+        assertThat(exportados).isSorted().containsAll(produtos.stream().map(Produto::getId).toList());
+        assertThat(plano[plano.length - 1]).isEqualTo((byte) '\n');
+
+        byte[] compactado = exportar("gzip, deflate");
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            assertThat(entrada.readAllBytes()).isEqualTo(plano);
+        }
+    }
+
+    @Test
+    void alterarComIfMatchDesatualizadoDevolve412() throws Exception {
+        Produto produto = produtos.getFirst();
+
+        mockMvc.perform(patch("/produtos/{id}", produto.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (produto.getVersao() + 7) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": 12.50}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/produtos/{id}", produto.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"" + produto.getVersao() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": 12.50}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(produtoRepository.findById(produto.getId()).orElseThrow().getPreco())
+                .isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void alterarComCorpoInvalidoDevolve400() throws Exception {
+        Long id = produtos.getFirst().getId();
+
+        mockMvc.perform(patch("/produtos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/produtos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": -1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void alterarProdutoInexistenteDevolve404() throws Exception {
+        mockMvc.perform(patch("/produtos/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preco\": 12.50}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listarProdutosSemAcceptOuComCuringaRespondeJson() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+
+        String etag = mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.itens.length()").value(2));
+        mockMvc.perform(get("/categorias/{id}/produtos", categoriaId).header(HttpHeaders.ACCEPT, "text/html, */*;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.itens.length()").value(2));
+    }
+
+    @Test
+    void listarProdutosEmCborEProtobufComEtagPorFormato() throws Exception {
+        Long categoriaId = categorias.getFirst().getId();
+        String etagJson = mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse cbor = mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        String etagCbor = cbor.getHeader(HttpHeaders.ETAG);
+        assertThat(FormatosConfig.cborMapper().readTree(cbor.getContentAsByteArray()).get("itens").size()).isEqualTo(2);
+
+        MockHttpServletResponse protobuf = mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString())
+                        .accept(PaginaProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PaginaProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse();
+        String etagProtobuf = protobuf.getHeader(HttpHeaders.ETAG);
+        assertThat(PaginaProdutosProto.parseFrom(protobuf.getContentAsByteArray()).getItensCount()).isEqualTo(2);
+
+        assertThat(List.of(etagJson, etagCbor, etagProtobuf)).doesNotContainNull().doesNotHaveDuplicates();
+        mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/produtos").param("categoriaId", categoriaId.toString())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etagCbor));
+    }
+
+    @Test
+    void salvarCategoriaInvalidaCacheDaCategoriaEDaListagem() throws Exception {
+        Long id = categorias.getFirst().getId();
+        criarNaCategoria(id, "Categoria 0");
+        mockMvc.perform(get("/categorias")).andExpect(status().isOk());
+
+        Cache porId = cacheManager.getCache(CacheConfig.CATEGORIAS);
+        Cache lista = cacheManager.getCache(CacheConfig.CATEGORIAS_LISTA);
+        assertThat(porId.get(id, CategoriaResposta.class)).isEqualTo(new CategoriaResposta(id, "Categoria 0"));
+        assertThat(lista.get(SimpleKey.EMPTY)).isNotNull();
+
+        Categoria categoria = categoriaRepository.findById(id).orElseThrow();
+        categoria.setNome("Renomeada");
+        categorias.set(0, categoriaService.salvar(categoria));
+
+        assertThat(porId.get(id)).isNull();
+        assertThat(lista.get(SimpleKey.EMPTY)).isNull();
+        criarNaCategoria(id, "Renomeada");
+        assertThat(porId.get(id, CategoriaResposta.class)).isEqualTo(new CategoriaResposta(id, "Renomeada"));
+        mockMvc.perform(get("/categorias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].nome").value("Renomeada"));
+    }
+
+    private void criarNaCategoria(Long categoriaId, String nomeCategoria) throws Exception {
+        String criado = mockMvc.perform(post("/categorias/{id}/produtos", categoriaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Em cache\", \"preco\": 10.00}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.categoria.nome").value(nomeCategoria))
+                .andReturn().getResponse().getContentAsString();
+        produtos.add(produtoRepository.findById(((Number) JsonPath.read(criado, "$.id")).longValue()).orElseThrow());
+    }
+
+    private byte[] exportar(String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder requisicao = get("/produtos/exportacao").accept(MediaType.APPLICATION_NDJSON);
+        if (acceptEncoding != null) {
+            requisicao.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult iniciado = mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse resposta = mockMvc.perform(asyncDispatch(iniciado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+        assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo(acceptEncoding == null ? null : "gzip");
+        return resposta.getContentAsByteArray();
+    }
+
+    private Produto registrarPorSku(String sku) {
+        Long id = produtoRepository.buscarPorSku(sku).orElseThrow().id();
+        Produto produto = produtoRepository.findById(id).orElseThrow();
+        produtos.add(produto);
+        return produto;
+    }
+
+    private Produto criar(String nome) throws Exception {
+        String criado = mockMvc.perform(post("/produtos").param("categoriaId", categorias.getFirst().getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"" + nome + "\", \"preco\": 10.00}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Produto produto = produtoRepository.findById(((Number) JsonPath.read(criado, "$.id")).longValue()).orElseThrow();
+        produtos.add(produto);
+        return produto;
+    }
+
+    private static BigDecimal decimal(Object valor) {
+        return valor == null ? null : escala(new BigDecimal(valor.toString()));
+    }
+
+    private static BigDecimal escala(BigDecimal valor) {
+        return valor == null ? null : valor.setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private List<Long> paginarIds(Long categoriaId, String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder requisicao = get("/produtos")
+                    .param("categoriaId", categoriaId.toString())
+                    .param("sort", sort)
+                    .param("limite", "2");
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            String pagina = mockMvc.perform(requisicao)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> itens = JsonPath.read(pagina, "$.itens[*].id");
+            itens.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(pagina, "$.proximo");
+        } while (cursor != null);
+        return ids;
+    }
+}
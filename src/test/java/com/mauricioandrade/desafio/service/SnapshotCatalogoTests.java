@@ -0,0 +1,161 @@
+package com.mauricioandrade.desafio.service;
+
+import com.mauricioandrade.desafio.dto.CategoriaResposta;
+import com.mauricioandrade.desafio.dto.CursorProduto;
+import com.mauricioandrade.desafio.dto.FiltroProdutos;
+import com.mauricioandrade.desafio.dto.OrdenacaoProduto;
+import com.mauricioandrade.desafio.dto.ProdutoResposta;
+import com.mauricioandrade.desafio.model.Categoria;
+import com.mauricioandrade.desafio.model.Produto;
+import com.mauricioandrade.desafio.repository.CategoriaRepository;
+import com.mauricioandrade.desafio.repository.ProdutoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SnapshotCatalogoTests {
+
+    private static final int LIMITE = 3;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String[][] precos = {
+                {"5.00", null, "5.00", "1.00", null, "5.00", "12.30"},
+                {null, "0.00", "12.30", "12.30", "99.99"},
+                {"7.50", null, null, "7.50", "1.00", "5.00"}
+        };
+        for (int i = 0; i < precos.length; i++) {
+            Categoria categoria = categoriaRepository.save(new Categoria(null, "Snapshot " + i));
+            categorias.add(categoria);
+            for (int j = 0; j < precos[i].length; j++) {
+                BigDecimal preco = precos[i][j] == null ? null : new BigDecimal(precos[i][j]);
+                produtos.add(produtoRepository.save(new Produto(null, "Snapshot " + i + "." + j, preco, categoria)));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAllById(produtos.stream().map(Produto::getId).toList());
+        categoriaRepository.deleteAll(categorias);
+    }
+
+    @Test
+    void listarIgualAoRepositorioPaginaAPagina() {
+        assertListagensIguais(construirSnapshot());
+    }
+
+    @Test
+    void listarIgualAoRepositorioDepoisDeMoverProdutoEntreCategorias() {
+        SnapshotCatalogo snapshot = construirSnapshot();
+        Produto movido = produtos.get(1);
+        Produto reprecificado = produtos.get(9);
+        movido.setCategoria(categorias.get(2));
+        movido.setPreco(new BigDecimal("7.50"));
+        reprecificado.setCategoria(categorias.get(0));
+        reprecificado.setPreco(null);
+        produtoRepository.saveAll(List.of(movido, reprecificado));
+
+        snapshot = snapshot.comProdutos(produtoRepository.listarPorIds(List.of(movido.getId(), reprecificado.getId())));
+
+        assertThat(snapshot.quantidadeProdutos()).isEqualTo(produtoRepository.count());
+        assertListagensIguais(snapshot);
+    }
+
+    @Test
+    void precoForaDaFaixaDoSnapshotEhRejeitadoSemAlterarOSnapshot() {
+        SnapshotCatalogo snapshot = construirSnapshot();
+        Categoria categoria = categorias.getFirst();
+        BigDecimal maximo = new BigDecimal("92233720368547758.07");
+        BigDecimal acima = maximo.add(new BigDecimal("0.01"));
+        ProdutoResposta caro = new ProdutoResposta(Long.MAX_VALUE, null, "Caro", acima, 0L,
+                categoria.getId(), categoria.getNome());
+
+        assertThatThrownBy(() -> snapshot.comProdutos(List.of(caro))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> SnapshotCatalogo.construtor().categoria(categoria.getId(), categoria.getNome())
+                .produto(1, null, "Caro", acima.negate(), 0, categoria.getId()))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(snapshot.comProdutos(List.of(new ProdutoResposta(Long.MAX_VALUE, null, "Caro", maximo, 0L,
+                categoria.getId(), categoria.getNome()))).quantidadeProdutos())
+                .isEqualTo(snapshot.quantidadeProdutos() + 1);
+        assertListagensIguais(snapshot);
+
+        FiltroProdutos filtro = new FiltroProdutos(categoria.getId(), null, null, OrdenacaoProduto.PRECO);
+        CursorProduto cursor = new CursorProduto(acima, 0);
+        assertThat(snapshot.listar(filtro, cursor, LIMITE)).isEqualTo(produtoRepository.listar(filtro, cursor, LIMITE));
+    }
+
+    private SnapshotCatalogo construirSnapshot() {
+        SnapshotCatalogo.Construtor construtor = SnapshotCatalogo.construtor();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (CategoriaResposta categoria : categoriaRepository.listarRespostas()) {
+                construtor.categoria(categoria.id(), categoria.nome());
+            }
+            try (Stream<ProdutoResposta> todos = produtoRepository.streamTodos()) {
+                todos.forEach(produto -> construtor.produto(produto.id(), produto.sku(), produto.nome(),
+                        produto.preco(), produto.versao(), produto.categoria().id()));
+            }
+        });
+        return construtor.construir();
+    }
+
+    private void assertListagensIguais(SnapshotCatalogo snapshot) {
+        List<Long> categoriasFiltradas = new ArrayList<>();
+        categoriasFiltradas.add(null);
+        categorias.forEach(categoria -> categoriasFiltradas.add(categoria.getId()));
+        BigDecimal[][] faixas = {
+                {null, null},
+                {new BigDecimal("4.995"), null},
+                {null, new BigDecimal("7.50")},
+                {new BigDecimal("1.00"), new BigDecimal("12.30")},
+                {new BigDecimal("0.01"), new BigDecimal("0.99")}
+        };
+        for (OrdenacaoProduto ordenacao : OrdenacaoProduto.values()) {
+            for (Long categoriaId : categoriasFiltradas) {
+                for (BigDecimal[] faixa : faixas) {
+                    FiltroProdutos filtro = new FiltroProdutos(categoriaId, faixa[0], faixa[1], ordenacao);
+                    assertPaginasIguais(snapshot, filtro);
+                }
+            }
+        }
+    }
+
+    private void assertPaginasIguais(SnapshotCatalogo snapshot, FiltroProdutos filtro) {
+        CursorProduto apos = null;
+        int paginas = 0;
+        while (true) {
+            List<ProdutoResposta> esperada = produtoRepository.listar(filtro, apos, LIMITE);
+            List<ProdutoResposta> obtida = snapshot.listar(filtro, apos, LIMITE);
+            assertThat(obtida).as("%s, página %d", filtro, paginas).isEqualTo(esperada);
+            if (esperada.size() < LIMITE) {
+                return;
+            }
+            apos = CursorProduto.apos(esperada.getLast());
+            paginas++;
+        }
+    }
+}